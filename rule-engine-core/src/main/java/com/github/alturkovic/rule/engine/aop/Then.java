@@ -33,10 +33,12 @@ import java.lang.annotation.Target;
 /**
  * Marks a rule method as an {@link com.github.alturkovic.rule.engine.api.Action} with optional ordering.
  * Inject facts into the signature using {@link Given} or a {@link com.github.alturkovic.rule.engine.api.Facts} object.
+ * Methods marked as {@link #async()} are executed as an {@link com.github.alturkovic.rule.engine.api.AsyncAction}, a rule cannot mix them with synchronous ones.
  */
 @Inherited
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface Then {
   int value() default 0;
+  boolean async() default false;
 }
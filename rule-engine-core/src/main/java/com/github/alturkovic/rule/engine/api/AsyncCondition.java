@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.api;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link Condition} depending on external data, like a lookup issued through a {@link com.github.alturkovic.rule.engine.loader.DataLoader}.
+ * Engines supporting asynchronous conditions start all of them before waiting for any, other engines can only use conditions that complete immediately.
+ */
+@FunctionalInterface
+public interface AsyncCondition extends Condition {
+
+  CompletionStage<Boolean> acceptAsync(Facts facts);
+
+  /**
+   * Does not wait for the condition, since lookups of data loaders are only dispatched by engines supporting asynchronous conditions.
+   *
+   * @throws IllegalStateException if the condition did not complete immediately
+   */
+  @Override
+  default boolean accept(final Facts facts) {
+    final var result = acceptAsync(facts).toCompletableFuture();
+    if (!result.isDone()) {
+      throw new IllegalStateException("Asynchronous condition did not complete, it has to be evaluated by an engine dispatching its lookups");
+    }
+    return result.join();
+  }
+}
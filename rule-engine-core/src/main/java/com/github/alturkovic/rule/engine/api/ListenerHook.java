@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.api;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Events a {@link RuleEngineListener} can implement, used to skip dispatching events to listeners which do not handle them.
+ */
+public enum ListenerHook {
+  BEFORE_EVALUATION("beforeEvaluation", Facts.class),
+  AFTER_EVALUATION("afterEvaluation", Facts.class),
+  SHOULD_STOP_BEFORE_EVALUATION("shouldStopBeforeEvaluation", Rule.class, Facts.class),
+  SHOULD_SKIP_EVALUATION("shouldSkipEvaluation", Rule.class, Facts.class),
+  BEFORE_CONDITION("beforeCondition", Rule.class, Facts.class),
+  AFTER_CONDITION("afterCondition", Rule.class, Facts.class, boolean.class),
+  ON_CONDITION_ERROR("onConditionError", Rule.class, Facts.class, Exception.class),
+  BEFORE_ACTION("beforeAction", Rule.class, Facts.class),
+  AFTER_ACTION("afterAction", Rule.class, Facts.class),
+  ON_ACTION_ERROR("onActionError", Rule.class, Facts.class, Exception.class),
+  SHOULD_STOP_AFTER_EVALUATION("shouldStopAfterEvaluation", Rule.class, Facts.class, boolean.class, Exception.class);
+
+  private static final ClassValue<Set<ListenerHook>> DETECTED = new ClassValue<>() {
+    @Override
+    protected Set<ListenerHook> computeValue(final Class<?> type) {
+      return detect(type, RuleEngineListener.class);
+    }
+  };
+
+  private final String methodName;
+  private final Class<?>[] parameterTypes;
+
+  ListenerHook(final String methodName, final Class<?>... parameterTypes) {
+    this.methodName = methodName;
+    this.parameterTypes = parameterTypes;
+  }
+
+  /**
+   * Hooks handled by the given listener, either {@link HookDeclaringListener declared} or detected once per listener type
+   * from the methods overriding the {@link RuleEngineListener} defaults.
+   */
+  public static Set<ListenerHook> of(final RuleEngineListener listener) {
+    if (listener instanceof HookDeclaringListener) {
+      return ((HookDeclaringListener) listener).getHooks();
+    }
+    return DETECTED.get(listener.getClass());
+  }
+
+  /**
+   * Hooks handled by the given listener indexed by their {@link #ordinal() ordinals}, for engines checking them for every rule.
+   */
+  public static boolean[] handledBy(final RuleEngineListener listener) {
+    final var handled = new boolean[values().length];
+    for (final var hook : of(listener)) {
+      handled[hook.ordinal()] = true;
+    }
+    return handled;
+  }
+
+  /**
+   * Hooks overridden in the given listener type below the given base type.
+   */
+  public static Set<ListenerHook> detect(final Class<?> type, final Class<?> baseType) {
+    final var hooks = EnumSet.noneOf(ListenerHook.class);
+    for (final var hook : values()) {
+      try {
+        final var declaringClass = type.getMethod(hook.methodName, hook.parameterTypes).getDeclaringClass();
+        if (declaringClass != baseType && declaringClass != RuleEngineListener.class) {
+          hooks.add(hook);
+        }
+      } catch (final NoSuchMethodException e) {
+        throw new IllegalStateException(String.format("Listener hook '%s' not found on: %s", hook.methodName, type), e);
+      }
+    }
+    return Collections.unmodifiableSet(hooks);
+  }
+}
@@ -24,6 +24,10 @@
 
 package com.github.alturkovic.rule.engine.api;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * The core interface of the library used to describe {@link Action what to do} and {@link Condition when} based on the provided {@link Facts}.
  */
@@ -37,6 +41,38 @@ public interface Rule extends Action, Condition, Comparable<Rule> {
     return DEFAULT_PRIORITY;
   }
 
+  /**
+   * Names of the facts this rule reads, or {@code null} if the rule can read any fact.
+   */
+  default Set<String> getInputs() {
+    return null;
+  }
+
+  /**
+   * Names of the facts this rule modifies, or {@code null} if the rule can modify any fact.
+   */
+  default Set<String> getOutputs() {
+    return null;
+  }
+
+  /**
+   * Whether the whole action of this rule is an {@link AsyncAction} that can complete after the evaluation continues.
+   */
+  default boolean isAsyncAction() {
+    return false;
+  }
+
+  /**
+   * Whether the condition of this rule is an {@link AsyncCondition} that should be started through {@link #acceptAsync(Facts)}.
+   */
+  default boolean isAsyncCondition() {
+    return false;
+  }
+
+  default CompletionStage<Boolean> acceptAsync(final Facts facts) {
+    return CompletableFuture.completedFuture(accept(facts));
+  }
+
   @Override
   default int compareTo(final Rule rule) {
     if (this == rule) {
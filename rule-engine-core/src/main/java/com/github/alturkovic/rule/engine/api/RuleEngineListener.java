@@ -26,14 +26,28 @@ package com.github.alturkovic.rule.engine.api;
 
 /**
  * Triggers on specific {@link RuleEngine} execution events.
+ * Engines only dispatch the events a listener {@link ListenerHook#of(RuleEngineListener) handles}.
  */
 public interface RuleEngineListener {
   RuleEngineListener NO_OP = new RuleEngineListener() {};
 
+  default void beforeEvaluation(Facts facts) {
+  }
+
+  default void afterEvaluation(Facts facts) {
+  }
+
   default boolean shouldStopBeforeEvaluation(Rule rule, Facts facts) {
     return false;
   }
 
+  /**
+   * Skips only the given rule, neither its condition nor its action is evaluated and evaluation continues with the next rule.
+   */
+  default boolean shouldSkipEvaluation(Rule rule, Facts facts) {
+    return false;
+  }
+
   default void beforeCondition(Rule rule, Facts facts) {
   }
 
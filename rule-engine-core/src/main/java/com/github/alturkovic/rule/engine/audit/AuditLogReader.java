@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.audit;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.DIGEST_OFFSET;
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.EVALUATION_ID_OFFSET;
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.OUTCOME_OFFSET;
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.RECORD_SIZE;
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.RULE_ID_OFFSET;
+import static com.github.alturkovic.rule.engine.audit.AuditLogWriter.TIMESTAMP_OFFSET;
+
+/**
+ * Decodes audit logs written by {@link AuditLogWriter}, segment by segment in the order they were written.
+ * Can be used from the command line with the audit log directory as the only argument.
+ */
+public class AuditLogReader {
+  private final Path directory;
+  private final List<String> ruleNames;
+
+  public AuditLogReader(final Path directory) throws IOException {
+    this.directory = directory;
+    this.ruleNames = AuditLogWriter.readDictionary(directory);
+  }
+
+  public void forEach(final Consumer<AuditRecord> consumer) throws IOException {
+    for (final var segment : AuditLogWriter.existingSegments(directory)) {
+      try (final var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+          final var outcome = buffer.get(offset + OUTCOME_OFFSET);
+          if (outcome == 0) {
+            continue;
+          }
+          final var ruleId = buffer.getInt(offset + RULE_ID_OFFSET);
+          consumer.accept(new AuditRecord(
+              ruleId,
+              ruleId >= 0 && ruleId < ruleNames.size() ? ruleNames.get(ruleId) : null,
+              buffer.getLong(offset + TIMESTAMP_OFFSET),
+              AuditOutcome.of(outcome),
+              buffer.getLong(offset + EVALUATION_ID_OFFSET),
+              buffer.getLong(offset + DIGEST_OFFSET)));
+        }
+      }
+    }
+  }
+
+  public List<AuditRecord> readAll() throws IOException {
+    final var records = new ArrayList<AuditRecord>();
+    forEach(records::add);
+    return records;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: AuditLogReader <audit log directory>");
+      System.exit(1);
+    }
+
+    new AuditLogReader(Paths.get(args[0])).forEach(record -> System.out.printf("%s evaluation=%d rule=%s outcome=%s digest=%016x%n",
+        Instant.ofEpochMilli(record.getTimestampMillis()), record.getEvaluationId(),
+        record.getRuleName() == null ? "#" + record.getRuleId() : record.getRuleName(), record.getOutcome(), record.getFactsDigest()));
+  }
+}
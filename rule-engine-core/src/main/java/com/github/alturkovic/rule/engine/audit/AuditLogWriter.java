@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Appends fixed size binary audit records to memory mapped segment files, starting a new segment when the current one is full.
+ * Writers reserve record positions atomically, so appending from multiple threads neither locks nor allocates except when rolling segments.
+ * <p>
+ * Records are {@value #RECORD_SIZE} little endian bytes: rule id (int), outcome (byte), 3 padding bytes, timestamp millis (long),
+ * evaluation id (long) and facts digest (long). Rule names are appended to the {@value #DICTIONARY_FILE} file, one name per line by rule id.
+ * Ids are {@link #intern(String) interned} by rule name across runs and never reassigned, so records of earlier segments keep their names.
+ * Evaluation ids are {@link #nextEvaluationId() issued} by the writer and continue after the largest id found in existing segments,
+ * so they stay unique within the directory across runs and across listeners sharing the writer.
+ */
+public class AuditLogWriter implements Closeable {
+  public static final int RECORD_SIZE = 32;
+  public static final String SEGMENT_PREFIX = "audit-";
+  public static final String SEGMENT_SUFFIX = ".seg";
+  public static final String DICTIONARY_FILE = "rules.dict";
+
+  static final int RULE_ID_OFFSET = 0;
+  static final int OUTCOME_OFFSET = 4;
+  static final int TIMESTAMP_OFFSET = 8;
+  static final int EVALUATION_ID_OFFSET = 16;
+  static final int DIGEST_OFFSET = 24;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final Map<String, Integer> ruleIds = new HashMap<>();
+  private final AtomicLong evaluationIds;
+  private volatile Segment current;
+  private int nextSegmentNumber;
+  private volatile boolean closed;
+
+  public AuditLogWriter(final Path directory, final int segmentSize) throws IOException {
+    if (segmentSize < RECORD_SIZE || segmentSize % RECORD_SIZE != 0) {
+      throw new IllegalArgumentException(String.format("Segment size must be a positive multiple of %d: %d", RECORD_SIZE, segmentSize));
+    }
+
+    this.directory = Files.createDirectories(directory);
+    this.segmentSize = segmentSize;
+    for (final var ruleName : readDictionary(directory)) {
+      ruleIds.putIfAbsent(ruleName, ruleIds.size());
+    }
+    final var segments = existingSegments(directory);
+    this.evaluationIds = new AtomicLong(lastEvaluationId(segments));
+    this.nextSegmentNumber = nextSegmentNumber(segments);
+    this.current = openSegment();
+  }
+
+  /**
+   * Returns the id of the given rule name, appending the name to the dictionary if it was not seen before.
+   */
+  public synchronized int intern(final String ruleName) throws IOException {
+    if (ruleName.indexOf('\n') >= 0 || ruleName.indexOf('\r') >= 0) {
+      throw new IllegalArgumentException("Rule name must not contain line breaks: " + ruleName);
+    }
+
+    final var existing = ruleIds.get(ruleName);
+    if (existing != null) {
+      return existing;
+    }
+
+    Files.write(directory.resolve(DICTIONARY_FILE), List.of(ruleName), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    final var id = ruleIds.size();
+    ruleIds.put(ruleName, id);
+    return id;
+  }
+
+  /**
+   * Returns a new evaluation id, unique among the records of this directory.
+   */
+  public long nextEvaluationId() {
+    return evaluationIds.incrementAndGet();
+  }
+
+  public void append(final int ruleId, final AuditOutcome outcome, final long timestampMillis, final long evaluationId, final long factsDigest) {
+    if (closed) {
+      throw new IllegalStateException("Audit log writer is closed");
+    }
+
+    while (true) {
+      final var segment = current;
+      final var offset = segment.reserve();
+      if (offset >= 0) {
+        final var buffer = segment.buffer;
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestampMillis);
+        buffer.putLong(offset + EVALUATION_ID_OFFSET, evaluationId);
+        buffer.putLong(offset + DIGEST_OFFSET, factsDigest);
+        buffer.putInt(offset + RULE_ID_OFFSET, ruleId);
+        buffer.put(offset + OUTCOME_OFFSET, outcome.getCode());
+        return;
+      }
+      roll(segment);
+    }
+  }
+
+  /**
+   * Forces written records of the current segment to the storage device, full segments are forced when rolling.
+   */
+  public void flush() {
+    current.buffer.force();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      flush();
+    }
+  }
+
+  static List<String> readDictionary(final Path directory) throws IOException {
+    final var dictionary = directory.resolve(DICTIONARY_FILE);
+    return Files.exists(dictionary) ? Files.readAllLines(dictionary, StandardCharsets.UTF_8) : List.of();
+  }
+
+  static List<Path> existingSegments(final Path directory) throws IOException {
+    try (final var files = Files.list(directory)) {
+      return files
+          .filter(f -> f.getFileName().toString().startsWith(SEGMENT_PREFIX) && f.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static long lastEvaluationId(final List<Path> segments) throws IOException {
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      try (final var channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+        final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        var last = -1L;
+        for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+          if (buffer.get(offset + OUTCOME_OFFSET) != 0) {
+            last = Math.max(last, buffer.getLong(offset + EVALUATION_ID_OFFSET));
+          }
+        }
+        if (last >= 0) {
+          return last;
+        }
+      }
+    }
+    return 0;
+  }
+
+  private static int nextSegmentNumber(final List<Path> segments) {
+    if (segments.isEmpty()) {
+      return 0;
+    }
+    final var name = segments.get(segments.size() - 1).getFileName().toString();
+    return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())) + 1;
+  }
+
+  private synchronized void roll(final Segment full) {
+    if (closed) {
+      throw new IllegalStateException("Audit log writer is closed");
+    }
+    if (current == full) {
+      try {
+        full.buffer.force();
+        current = openSegment();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private Segment openSegment() throws IOException {
+    final var file = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+    try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      return new Segment(buffer, segmentSize);
+    }
+  }
+
+  private static class Segment {
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final AtomicLong position = new AtomicLong();
+
+    private Segment(final MappedByteBuffer buffer, final int size) {
+      this.buffer = buffer;
+      this.size = size;
+    }
+
+    private int reserve() {
+      final var offset = position.getAndAdd(RECORD_SIZE);
+      return offset + RECORD_SIZE <= size ? (int) offset : -1;
+    }
+  }
+}
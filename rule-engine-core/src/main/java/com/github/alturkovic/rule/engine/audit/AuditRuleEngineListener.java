@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.audit;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.core.RuleIndex;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.io.IOException;
+import java.util.function.ToLongFunction;
+import lombok.ToString;
+
+/**
+ * Appends a binary {@link AuditLogWriter audit record} for every executed or failed rule action.
+ * Rules are identified by the id {@link AuditLogWriter#intern(String) interned} for their name, rules not known when the listener was created
+ * are recorded with id {@code -1}.
+ * Evaluation ids are {@link AuditLogWriter#nextEvaluationId() issued by the writer}.
+ * The optional facts digest is computed once per evaluation, before any rule is evaluated.
+ * Actions run by an {@link com.github.alturkovic.rule.engine.core.AsyncActionExecutor} complete outside of their evaluation,
+ * so they are recorded with evaluation id and digest {@code 0}.
+ */
+@ToString(callSuper = true, onlyExplicitlyIncluded = true)
+public class AuditRuleEngineListener extends ForwardingRuleEngineListener {
+  private static final ToLongFunction<Facts> NO_DIGEST = facts -> 0;
+
+  private final RuleIndex index;
+  private final int[] ruleIds;
+  private final AuditLogWriter writer;
+  private final ToLongFunction<Facts> digest;
+  private final ThreadLocal<long[]> evaluation = ThreadLocal.withInitial(() -> new long[2]);
+
+  public AuditRuleEngineListener(final Rules rules, final AuditLogWriter writer) throws IOException {
+    this(RuleEngineListener.NO_OP, rules, writer, NO_DIGEST);
+  }
+
+  public AuditRuleEngineListener(final RuleEngineListener delegate, final Rules rules, final AuditLogWriter writer,
+                                 final ToLongFunction<Facts> digest) throws IOException {
+    super(delegate);
+    this.index = new RuleIndex(rules);
+    this.writer = writer;
+    this.digest = digest;
+    this.ruleIds = new int[index.size()];
+    for (var id = 0; id < ruleIds.length; id++) {
+      ruleIds[id] = writer.intern(index.get(id).getName());
+    }
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    final var current = evaluation.get();
+    current[0] = writer.nextEvaluationId();
+    current[1] = digest.applyAsLong(facts);
+    super.beforeEvaluation(facts);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    append(rule, AuditOutcome.EXECUTED);
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    append(rule, AuditOutcome.FAILED);
+    super.onActionError(rule, facts, e);
+  }
+
+  private void append(final Rule rule, final AuditOutcome outcome) {
+    final var current = evaluation.get();
+    final var id = index.idOf(rule);
+    writer.append(id < 0 ? -1 : ruleIds[id], outcome, System.currentTimeMillis(), current[0], current[1]);
+  }
+}
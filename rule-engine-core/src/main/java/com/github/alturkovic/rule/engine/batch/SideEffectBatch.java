@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.batch;
+
+import com.github.alturkovic.rule.engine.api.Action;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects side effects registered by actions and writes them to the {@link SideEffectSink} in batches of at most {@code maxSize} effects,
+ * once {@code maxSize} effects are pending or {@code maxDelay} after the first pending effect was registered. A batch shared by all evaluations
+ * collects effects across them, while {@link SideEffectFlushingListener} flushes it after every evaluation.
+ * <p>
+ * Batches are written one at a time, in the order they were collected in. Effects of a failed write are put back in front of the pending effects
+ * and written again later, a failed write triggered by a full batch is only logged, so it does not fail the action that filled it.
+ * After a failed write, full batches are not written again until a back-off doubling with every consecutive failure has passed,
+ * while the scheduled flush retries once it has. At most {@code maxPending} effects are kept while the sink fails,
+ * further effects are dropped and {@link #getDroppedCount() counted}.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class SideEffectBatch<T> implements Closeable {
+  public static final int DEFAULT_PENDING_BATCHES = 16;
+  public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+  private static final int MAX_BACKOFF_SHIFT = 6;
+
+  @ToString.Include
+  private final int maxSize;
+
+  @ToString.Include
+  private final Duration maxDelay;
+
+  @ToString.Include
+  private final int maxPending;
+
+  private final SideEffectSink<T> sink;
+  private final ScheduledExecutorService scheduler;
+  private final LongSupplier ticker;
+  private final long retryDelayNanos;
+  private final Lock writeLock = new ReentrantLock();
+  private final Deque<T> pending = new ArrayDeque<>();
+  private final LongAdder dropped = new LongAdder();
+  private ScheduledFuture<?> scheduledFlush;
+  private int failures;
+  private long retryAt;
+  private boolean closed;
+
+  public SideEffectBatch(final SideEffectSink<T> sink, final int maxSize) {
+    this(sink, maxSize, null, 0);
+  }
+
+  /**
+   * @param maxDelay   optional time after which pending effects are written even if the batch is not full, also the initial retry back-off
+   * @param maxPending maximum number of effects kept while the sink fails, {@value #DEFAULT_PENDING_BATCHES} batches if not positive
+   */
+  @Builder
+  public SideEffectBatch(final SideEffectSink<T> sink, final int maxSize, final Duration maxDelay, final int maxPending) {
+    this(sink, maxSize, maxDelay, maxPending, System::nanoTime);
+  }
+
+  SideEffectBatch(final SideEffectSink<T> sink, final int maxSize, final Duration maxDelay, final int maxPending, final LongSupplier ticker) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Maximum batch size must be positive: " + maxSize);
+    }
+    if (maxPending > 0 && maxPending < maxSize) {
+      throw new IllegalArgumentException(String.format("Maximum pending effects must fit a batch of %d: %d", maxSize, maxPending));
+    }
+
+    this.sink = sink;
+    this.maxSize = maxSize;
+    this.maxDelay = maxDelay;
+    this.maxPending = maxPending > 0 ? maxPending : DEFAULT_PENDING_BATCHES * maxSize;
+    this.ticker = ticker;
+    this.retryDelayNanos = (maxDelay == null ? DEFAULT_RETRY_DELAY : maxDelay).toNanos();
+    this.scheduler = maxDelay == null ? null : Executors.newSingleThreadScheduledExecutor(task -> {
+      final var thread = new Thread(task, "rule-engine-side-effect-flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Adapts the given action to register its side effects into this batch.
+   */
+  public Action action(final SideEffectAction<T> action) {
+    return facts -> action.execute(facts, this::add);
+  }
+
+  /**
+   * Registers the effect, writing a full batch on the calling thread unless a failed write is backing off.
+   */
+  public void add(final T effect) {
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Side effect batch is closed");
+      }
+
+      if (pending.size() >= maxPending) {
+        dropped.increment();
+        log.debug("Dropped side effect exceeding {} pending ones", maxPending);
+      } else {
+        pending.add(effect);
+        if (pending.size() == 1 && scheduler != null) {
+          schedule(maxDelay.toNanos());
+        }
+      }
+      if (pending.size() < maxSize || isBackingOff()) {
+        return;
+      }
+    }
+    writeFull();
+  }
+
+  /**
+   * Writes all pending effects on the calling thread in batches of at most {@code maxSize}, stopping at the first failed write,
+   * whose effects stay pending.
+   */
+  public void flush() {
+    writeLock.lock();
+    try {
+      var remaining = getPendingCount();
+      while (remaining > 0) {
+        final List<T> batch;
+        synchronized (this) {
+          batch = takeBatch();
+        }
+        if (batch.isEmpty()) {
+          return;
+        }
+        write(batch);
+        remaining -= batch.size();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of effects waiting to be written.
+   */
+  public synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Returns the number of effects dropped because {@code maxPending} effects were already waiting to be written.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops accepting effects and writes the pending ones.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    try {
+      flush();
+    } finally {
+      if (scheduler != null) {
+        scheduler.shutdownNow();
+      }
+    }
+  }
+
+  private List<T> takeBatch() {
+    final var batch = new ArrayList<T>(Math.min(maxSize, pending.size()));
+    while (batch.size() < maxSize && !pending.isEmpty()) {
+      batch.add(pending.poll());
+    }
+    if (pending.isEmpty() && scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    return batch;
+  }
+
+  private void schedule(final long delayNanos) {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+    }
+    scheduledFlush = scheduler.schedule(this::flushScheduled, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private boolean isBackingOff() {
+    return failures > 0 && ticker.getAsLong() - retryAt < 0;
+  }
+
+  private void flushScheduled() {
+    try {
+      flush();
+    } catch (final RuntimeException e) {
+      log.error("Failed writing side effects, retrying in {} ms", TimeUnit.NANOSECONDS.toMillis(backoffNanos()), e);
+    }
+  }
+
+  private void writeFull() {
+    writeLock.lock();
+    try {
+      final List<T> batch;
+      synchronized (this) {
+        if (pending.size() < maxSize || isBackingOff()) {
+          return;
+        }
+        batch = takeBatch();
+      }
+      write(batch);
+    } catch (final RuntimeException e) {
+      log.error("Failed writing full batch of side effects, keeping them pending", e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Called holding the write lock, so batches are written in the order they were taken and failed ones can be put back in front.
+   */
+  private void write(final List<T> batch) {
+    log.debug("Writing {} side effects", batch.size());
+    try {
+      sink.write(Collections.unmodifiableList(batch));
+    } catch (final RuntimeException e) {
+      requeue(batch);
+      throw e;
+    }
+    synchronized (this) {
+      failures = 0;
+    }
+  }
+
+  private synchronized void requeue(final List<T> batch) {
+    for (final var it = batch.listIterator(batch.size()); it.hasPrevious(); ) {
+      pending.addFirst(it.previous());
+    }
+    var overflow = 0;
+    while (pending.size() > maxPending) {
+      pending.pollLast();
+      overflow++;
+    }
+    if (overflow > 0) {
+      dropped.add(overflow);
+      log.warn("Dropped {} side effects exceeding {} pending ones", overflow, maxPending);
+    }
+
+    failures++;
+    final var backoff = backoffNanos();
+    retryAt = ticker.getAsLong() + backoff;
+    if (scheduler != null && !closed) {
+      schedule(backoff);
+    }
+  }
+
+  private synchronized long backoffNanos() {
+    return retryDelayNanos << Math.min(Math.max(failures - 1, 0), MAX_BACKOFF_SHIFT);
+  }
+}
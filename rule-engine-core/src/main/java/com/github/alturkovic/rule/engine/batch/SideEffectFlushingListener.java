@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.batch;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Flushes the given {@link SideEffectBatch batches} after every evaluation, so effects registered during an evaluation are written before it completes.
+ * Effects of concurrent evaluations sharing a batch may be written together.
+ */
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class SideEffectFlushingListener extends ForwardingRuleEngineListener {
+  private final List<SideEffectBatch<?>> batches;
+
+  public SideEffectFlushingListener(final SideEffectBatch<?>... batches) {
+    this(RuleEngineListener.NO_OP, batches);
+  }
+
+  public SideEffectFlushingListener(final RuleEngineListener delegate, final SideEffectBatch<?>... batches) {
+    super(delegate);
+    this.batches = List.of(batches);
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    try {
+      for (final var batch : batches) {
+        batch.flush();
+      }
+    } finally {
+      super.afterEvaluation(facts);
+    }
+  }
+}
@@ -25,6 +25,9 @@
 package com.github.alturkovic.rule.engine.builder;
 
 import com.github.alturkovic.rule.engine.api.Rule;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -32,6 +35,8 @@ public abstract class AbstractRuleBuilder<B> {
   protected final String name;
   protected String description;
   protected int priority = Rule.DEFAULT_PRIORITY;
+  protected Set<String> inputs;
+  protected Set<String> outputs;
 
   public B description(final String description) {
     this.description = description;
@@ -42,4 +47,28 @@ public abstract class AbstractRuleBuilder<B> {
     this.priority = priority;
     return (B) this;
   }
+
+  /**
+   * Declares the facts read by the rule, rules without declared inputs are assumed to read all facts.
+   */
+  public B inputs(final String... inputs) {
+    return inputs(List.of(inputs));
+  }
+
+  public B inputs(final Collection<String> inputs) {
+    this.inputs = inputs == null ? null : Set.copyOf(inputs);
+    return (B) this;
+  }
+
+  /**
+   * Declares the facts modified by the rule, rules without declared outputs are assumed to modify all facts.
+   */
+  public B outputs(final String... outputs) {
+    return outputs(List.of(outputs));
+  }
+
+  public B outputs(final Collection<String> outputs) {
+    this.outputs = outputs == null ? null : Set.copyOf(outputs);
+    return (B) this;
+  }
 }
@@ -25,16 +25,20 @@
 package com.github.alturkovic.rule.engine.builder;
 
 import com.github.alturkovic.rule.engine.api.Action;
+import com.github.alturkovic.rule.engine.api.AsyncAction;
+import com.github.alturkovic.rule.engine.api.AsyncCondition;
 import com.github.alturkovic.rule.engine.api.Condition;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.composite.CompositeAction;
 import com.github.alturkovic.rule.engine.core.DefaultRule;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 public class DefaultRuleBuilder extends AbstractRuleBuilder<DefaultRuleBuilder> {
   private Condition condition = Condition.ALWAYS;
   private Action action = Action.NO_OP;
+  private final List<Action> asyncActions = new ArrayList<>();
 
   public DefaultRuleBuilder(final String name) {
     super(name);
@@ -45,12 +49,21 @@ public class DefaultRuleBuilder extends AbstractRuleBuilder<DefaultRuleBuilder>
     return this;
   }
 
+  public DefaultRuleBuilder whenAsync(final AsyncCondition condition) {
+    this.condition = condition;
+    return this;
+  }
+
   public <T> DefaultRuleBuilder when(final String fact, final Predicate<T> predicate) {
     this.condition = facts -> predicate.test(facts.get(fact));
     return this;
   }
 
   public DefaultRuleBuilder then(final Action action) {
+    if (action instanceof AsyncAction) {
+      return thenAsync(action);
+    }
+
     if (this.action == Action.NO_OP) {
       this.action = action;
     } else {
@@ -59,8 +72,30 @@ public class DefaultRuleBuilder extends AbstractRuleBuilder<DefaultRuleBuilder>
     return this;
   }
 
+  /**
+   * Adds an action that can complete after the evaluation continues, a rule cannot mix synchronous and asynchronous actions.
+   */
+  public DefaultRuleBuilder thenAsync(final Action action) {
+    asyncActions.add(action);
+    return this;
+  }
+
   public Rule build() {
-    return new DefaultRule(name, description, priority, condition, action);
+    return new DefaultRule(name, description, priority, condition, buildAction(), inputs, outputs);
+  }
+
+  private Action buildAction() {
+    if (asyncActions.isEmpty()) {
+      return action;
+    }
+
+    if (action != Action.NO_OP) {
+      throw new IllegalStateException(String.format("Rule '%s' cannot mix synchronous and asynchronous actions", name));
+    }
+
+    return asyncActions.size() == 1
+        ? AsyncAction.of(asyncActions.get(0))
+        : AsyncAction.of(new CompositeAction(asyncActions));
   }
 
   private ArrayList<Action> accumulateActions(final Action current) {
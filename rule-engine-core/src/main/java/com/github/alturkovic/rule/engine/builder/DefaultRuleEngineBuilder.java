@@ -28,6 +28,7 @@ import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngine;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
 import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.core.AsyncActionExecutor;
 import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
 import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
 import com.github.alturkovic.rule.engine.proxy.RuleProxy;
@@ -38,12 +39,18 @@ import java.util.TreeSet;
 public class DefaultRuleEngineBuilder {
   private Set<Rule> rules = new TreeSet<>();
   private RuleEngineListener listener = RuleEngineListener.NO_OP;
+  private AsyncActionExecutor asyncActionExecutor;
 
   public DefaultRuleEngineBuilder listener(final RuleEngineListener listener) {
     this.listener = listener;
     return this;
   }
 
+  public DefaultRuleEngineBuilder asyncActionExecutor(final AsyncActionExecutor asyncActionExecutor) {
+    this.asyncActionExecutor = asyncActionExecutor;
+    return this;
+  }
+
   public DefaultRuleEngineBuilder rule(final Rule rule) {
     this.rules.add(rule);
     return this;
@@ -65,6 +72,6 @@ public class DefaultRuleEngineBuilder {
   }
 
   public RuleEngine build() {
-    return new DefaultRuleEngine(listener, new SimpleOrderedRules(rules));
+    return new DefaultRuleEngine(listener, new SimpleOrderedRules(rules), asyncActionExecutor);
   }
 }
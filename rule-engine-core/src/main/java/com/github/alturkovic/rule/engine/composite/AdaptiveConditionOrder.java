@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.composite;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Orders composite rule children by their measured condition cost and the probability of deciding the composite outcome,
+ * so the children most likely to short-circuit the evaluation cheaply are checked first.
+ */
+class AdaptiveConditionOrder {
+  static final int REORDER_INTERVAL = 1_000;
+
+  private final Rule[] children;
+  private final boolean decisiveResult;
+  private final LongAdder[] checks;
+  private final LongAdder[] decisions;
+  private final LongAdder[] conditionNanos;
+  private final AtomicLong evaluations = new AtomicLong();
+  private final AtomicBoolean reordering = new AtomicBoolean();
+  private volatile int[] order;
+
+  AdaptiveConditionOrder(final Rules rules, final boolean decisiveResult) {
+    final var list = new ArrayList<Rule>();
+    rules.forEach(list::add);
+    this.children = list.toArray(new Rule[0]);
+    this.decisiveResult = decisiveResult;
+    this.checks = newAdders(children.length);
+    this.decisions = newAdders(children.length);
+    this.conditionNanos = newAdders(children.length);
+
+    final var initialOrder = new int[children.length];
+    Arrays.setAll(initialOrder, i -> i);
+    this.order = initialOrder;
+  }
+
+  /**
+   * Finds the first child whose condition result equals the decisive result, or {@code null} if there is none.
+   */
+  Rule findDecisive(final Facts facts) {
+    if (evaluations.incrementAndGet() % REORDER_INTERVAL == 0) {
+      reorder();
+    }
+
+    for (final var index : order) {
+      final var child = children[index];
+      final var start = System.nanoTime();
+      final var result = child.accept(facts);
+      conditionNanos[index].add(System.nanoTime() - start);
+      checks[index].increment();
+      if (result == decisiveResult) {
+        decisions[index].increment();
+        return child;
+      }
+    }
+    return null;
+  }
+
+  List<Rule> currentOrder() {
+    final var current = new ArrayList<Rule>(children.length);
+    for (final var index : order) {
+      current.add(children[index]);
+    }
+    return current;
+  }
+
+  void reorder() {
+    if (!reordering.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      final var scores = new double[children.length];
+      final var indexes = new Integer[children.length];
+      for (int i = 0; i < children.length; i++) {
+        scores[i] = score(i);
+        indexes[i] = i;
+      }
+
+      Arrays.sort(indexes, Comparator.<Integer>comparingDouble(i -> scores[i]).thenComparingInt(i -> i));
+      order = Arrays.stream(indexes).mapToInt(Integer::intValue).toArray();
+    } finally {
+      reordering.set(false);
+    }
+  }
+
+  /**
+   * Expected condition cost per decisive result, unobserved children score zero so they are measured early.
+   */
+  private double score(final int index) {
+    final var checkCount = checks[index].sum();
+    if (checkCount == 0) {
+      return 0;
+    }
+
+    final var meanNanos = (double) conditionNanos[index].sum() / checkCount;
+    final var decisiveRate = (decisions[index].sum() + 1.0) / (checkCount + 2.0);
+    return meanNanos / decisiveRate;
+  }
+
+  private static LongAdder[] newAdders(final int size) {
+    final var adders = new LongAdder[size];
+    Arrays.setAll(adders, i -> new LongAdder());
+    return adders;
+  }
+}
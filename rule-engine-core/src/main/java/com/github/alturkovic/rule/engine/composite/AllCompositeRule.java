@@ -27,6 +27,9 @@ package com.github.alturkovic.rule.engine.composite;
 import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -34,14 +37,29 @@ import lombok.ToString;
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
 public class AllCompositeRule extends CompositeRule {
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final AdaptiveConditionOrder conditionOrder;
 
-  @Builder
   public AllCompositeRule(final String name, final String description, final int priority, final Rules rules) {
+    this(name, description, priority, rules, false);
+  }
+
+  /**
+   * Adaptive rules check children most likely to decline first, actions are always executed in the original order.
+   */
+  @Builder
+  public AllCompositeRule(final String name, final String description, final int priority, final Rules rules, final boolean adaptive) {
     super(name, description, priority, rules);
+    this.conditionOrder = adaptive ? new AdaptiveConditionOrder(rules, false) : null;
   }
 
   @Override
   public boolean accept(final Facts facts) {
+    if (conditionOrder != null) {
+      return conditionOrder.findDecisive(facts) == null;
+    }
+
     for (final Rule rule : getRules()) {
       if (!rule.accept(facts)) {
         return false;
@@ -50,6 +68,18 @@ public class AllCompositeRule extends CompositeRule {
     return true;
   }
 
+  /**
+   * Checks the conditions of composed rules in order until one declines, see {@link #findDecisiveAsync(Facts, boolean)}.
+   */
+  @Override
+  public CompletionStage<Boolean> acceptAsync(final Facts facts) {
+    if (!isAsyncCondition()) {
+      return CompletableFuture.completedFuture(accept(facts));
+    }
+
+    return findDecisiveAsync(facts, false).thenApply(Objects::isNull);
+  }
+
   @Override
   public void execute(final Facts facts) {
     getRules().forEach(rule -> rule.execute(facts));
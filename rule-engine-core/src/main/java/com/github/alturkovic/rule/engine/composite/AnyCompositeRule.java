@@ -27,36 +27,83 @@ package com.github.alturkovic.rule.engine.composite;
 import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.util.WeakIdentityMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
+/**
+ * Accepts facts when any child rule accepts them and executes only the accepted child.
+ * The accepted child is kept per evaluated facts instance between {@link #accept(Facts)} and {@link #execute(Facts)}, so the rule can be shared
+ * by concurrent evaluations and its condition and action may run on different threads.
+ * <p>
+ * Concurrent evaluations must not share a facts instance: the child is kept by facts identity, so the child accepted last for the instance
+ * replaces the others and is executed once, by whichever evaluation executes first.
+ */
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
 public class AnyCompositeRule extends CompositeRule {
-  private Rule lastAcceptedRule;
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final WeakIdentityMap<Facts, Rule> acceptedRules = new WeakIdentityMap<>();
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final AdaptiveConditionOrder conditionOrder;
 
-  @Builder
   public AnyCompositeRule(final String name, final String description, final int priority, final Rules rules) {
+    this(name, description, priority, rules, false);
+  }
+
+  /**
+   * Adaptive rules check children most likely to accept first, so a different accepting child may be executed.
+   */
+  @Builder
+  public AnyCompositeRule(final String name, final String description, final int priority, final Rules rules, final boolean adaptive) {
     super(name, description, priority, rules);
+    this.conditionOrder = adaptive ? new AdaptiveConditionOrder(rules, true) : null;
   }
 
   @Override
   public boolean accept(final Facts facts) {
+    if (conditionOrder != null) {
+      final var acceptedRule = conditionOrder.findDecisive(facts);
+      acceptedRules.put(facts, acceptedRule);
+      return acceptedRule != null;
+    }
+
     for (final Rule rule : getRules()) {
       if (rule.accept(facts)) {
-        lastAcceptedRule = rule;
+        acceptedRules.put(facts, rule);
         return true;
       }
     }
+    acceptedRules.put(facts, null);
     return false;
   }
 
+  /**
+   * Checks the conditions of composed rules in order until one accepts, see {@link #findDecisiveAsync(Facts, boolean)}.
+   */
+  @Override
+  public CompletionStage<Boolean> acceptAsync(final Facts facts) {
+    if (!isAsyncCondition()) {
+      return CompletableFuture.completedFuture(accept(facts));
+    }
+
+    return findDecisiveAsync(facts, true).thenApply(acceptedRule -> {
+      acceptedRules.put(facts, acceptedRule);
+      return acceptedRule != null;
+    });
+  }
+
   @Override
   public void execute(final Facts facts) {
-    if (lastAcceptedRule != null) {
-      lastAcceptedRule.execute(facts);
-      lastAcceptedRule = null;
+    final var acceptedRule = acceptedRules.remove(facts);
+    if (acceptedRule != null) {
+      acceptedRule.execute(facts);
     }
   }
 }
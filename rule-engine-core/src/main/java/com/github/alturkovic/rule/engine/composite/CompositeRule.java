@@ -24,8 +24,14 @@
 
 package com.github.alturkovic.rule.engine.composite;
 
+import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import lombok.Data;
 
 @Data
@@ -34,4 +40,71 @@ public abstract class CompositeRule implements Rule {
   private final String description;
   private final int priority;
   private final Rules rules;
+
+  /**
+   * Union of all composed rule inputs, {@code null} if any composed rule did not declare them.
+   */
+  @Override
+  public Set<String> getInputs() {
+    return union(Rule::getInputs);
+  }
+
+  /**
+   * Union of all composed rule outputs, {@code null} if any composed rule did not declare them.
+   */
+  @Override
+  public Set<String> getOutputs() {
+    return union(Rule::getOutputs);
+  }
+
+  /**
+   * Whether any composed rule has an asynchronous condition.
+   */
+  @Override
+  public boolean isAsyncCondition() {
+    for (final var rule : rules) {
+      if (rule.isAsyncCondition()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks the conditions of the composed rules one after another in their order, asynchronous ones through {@link Rule#acceptAsync(Facts)},
+   * until one of them returns {@code decisive}, completing with that rule or {@code null} if none did. Like {@link Rule#accept(Facts)}, rules after
+   * the decisive one are not checked and a failing condition fails the result, an asynchronous condition completing with {@code null} declines.
+   * Conditions are always checked in the original order, even by adaptive rules.
+   */
+  protected CompletableFuture<Rule> findDecisiveAsync(final Facts facts, final boolean decisive) {
+    return findDecisiveAsync(getRules().iterator(), facts, decisive);
+  }
+
+  private static CompletableFuture<Rule> findDecisiveAsync(final Iterator<Rule> remaining, final Facts facts, final boolean decisive) {
+    while (remaining.hasNext()) {
+      final var rule = remaining.next();
+      if (rule.isAsyncCondition()) {
+        return rule.acceptAsync(facts).toCompletableFuture()
+            .thenCompose(accepted -> Boolean.TRUE.equals(accepted) == decisive
+                ? CompletableFuture.completedFuture(rule)
+                : findDecisiveAsync(remaining, facts, decisive));
+      }
+      if (rule.accept(facts) == decisive) {
+        return CompletableFuture.completedFuture(rule);
+      }
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private Set<String> union(final Function<Rule, Set<String>> declaration) {
+    final var union = new HashSet<String>();
+    for (final var rule : rules) {
+      final var declared = declaration.apply(rule);
+      if (declared == null) {
+        return null;
+      }
+      union.addAll(declared);
+    }
+    return union;
+  }
 }
@@ -25,61 +25,178 @@
 package com.github.alturkovic.rule.engine.composite;
 
 import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.HookDeclaringListener;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.Set;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Singular;
 import lombok.ToString;
 
-@Builder
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_ACTION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_ACTION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.ON_ACTION_ERROR;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.ON_CONDITION_ERROR;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_SKIP_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_BEFORE_EVALUATION;
+
+/**
+ * Dispatches events to multiple listeners, each event only to the listeners which {@link ListenerHook#of(RuleEngineListener) handle it}.
+ * Evaluation is stopped only if all listeners agree, so a single listener not handling the stopping event prevents stopping,
+ * while any listener can skip a rule.
+ */
 @ToString
 @EqualsAndHashCode
-@AllArgsConstructor
-public class CompositeRuleEngineListener implements RuleEngineListener {
-
-  @Singular
+public class CompositeRuleEngineListener implements HookDeclaringListener {
   private final List<? extends RuleEngineListener> listeners;
 
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleEngineListener[][] dispatch;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Set<ListenerHook> vetoedStops;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Set<ListenerHook> hooks;
+
+  @Builder
+  public CompositeRuleEngineListener(@Singular final List<? extends RuleEngineListener> listeners) {
+    this.listeners = listeners;
+    this.dispatch = new RuleEngineListener[ListenerHook.values().length][];
+    for (final var hook : ListenerHook.values()) {
+      dispatch[hook.ordinal()] = listeners.stream()
+          .filter(l -> ListenerHook.of(l).contains(hook))
+          .toArray(RuleEngineListener[]::new);
+    }
+
+    this.vetoedStops = EnumSet.noneOf(ListenerHook.class);
+    for (final var hook : EnumSet.of(SHOULD_STOP_BEFORE_EVALUATION, SHOULD_STOP_AFTER_EVALUATION)) {
+      if (dispatch[hook.ordinal()].length < listeners.size()) {
+        vetoedStops.add(hook);
+      }
+    }
+
+    final var handled = EnumSet.noneOf(ListenerHook.class);
+    for (final var hook : ListenerHook.values()) {
+      if (dispatch[hook.ordinal()].length > 0) {
+        handled.add(hook);
+      }
+    }
+    if (listeners.isEmpty()) {
+      handled.add(SHOULD_STOP_BEFORE_EVALUATION);
+      handled.add(SHOULD_STOP_AFTER_EVALUATION);
+    }
+    handled.removeAll(vetoedStops);
+    this.hooks = Collections.unmodifiableSet(handled);
+  }
+
+  @Override
+  public Set<ListenerHook> getHooks() {
+    return hooks;
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    for (final var listener : dispatch[BEFORE_EVALUATION.ordinal()]) {
+      listener.beforeEvaluation(facts);
+    }
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    for (final var listener : dispatch[AFTER_EVALUATION.ordinal()]) {
+      listener.afterEvaluation(facts);
+    }
+  }
+
   @Override
   public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
-    return listeners.stream().allMatch(l -> l.shouldStopBeforeEvaluation(rule, facts));
+    if (vetoedStops.contains(SHOULD_STOP_BEFORE_EVALUATION)) {
+      return false;
+    }
+    for (final var listener : dispatch[SHOULD_STOP_BEFORE_EVALUATION.ordinal()]) {
+      if (!listener.shouldStopBeforeEvaluation(rule, facts)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    for (final var listener : dispatch[SHOULD_SKIP_EVALUATION.ordinal()]) {
+      if (listener.shouldSkipEvaluation(rule, facts)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   public void beforeCondition(final Rule rule, final Facts facts) {
-    listeners.forEach(l -> l.beforeCondition(rule, facts));
+    for (final var listener : dispatch[BEFORE_CONDITION.ordinal()]) {
+      listener.beforeCondition(rule, facts);
+    }
   }
 
   @Override
   public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
-    listeners.forEach(l -> l.afterCondition(rule, facts, accepted));
+    for (final var listener : dispatch[AFTER_CONDITION.ordinal()]) {
+      listener.afterCondition(rule, facts, accepted);
+    }
   }
 
   @Override
   public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
-    listeners.forEach(l -> l.onConditionError(rule, facts, e));
+    for (final var listener : dispatch[ON_CONDITION_ERROR.ordinal()]) {
+      listener.onConditionError(rule, facts, e);
+    }
   }
 
   @Override
   public void beforeAction(final Rule rule, final Facts facts) {
-    listeners.forEach(l -> l.beforeAction(rule, facts));
+    for (final var listener : dispatch[BEFORE_ACTION.ordinal()]) {
+      listener.beforeAction(rule, facts);
+    }
   }
 
   @Override
   public void afterAction(final Rule rule, final Facts facts) {
-    listeners.forEach(l -> l.afterAction(rule, facts));
+    for (final var listener : dispatch[AFTER_ACTION.ordinal()]) {
+      listener.afterAction(rule, facts);
+    }
   }
 
   @Override
   public void onActionError(final Rule rule, final Facts facts, final Exception e) {
-    listeners.forEach(l -> l.onActionError(rule, facts, e));
+    for (final var listener : dispatch[ON_ACTION_ERROR.ordinal()]) {
+      listener.onActionError(rule, facts, e);
+    }
   }
 
   @Override
   public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
-    return listeners.stream().allMatch(l -> l.shouldStopAfterEvaluation(rule, facts, accepted, e));
+    if (vetoedStops.contains(SHOULD_STOP_AFTER_EVALUATION)) {
+      return false;
+    }
+    for (final var listener : dispatch[SHOULD_STOP_AFTER_EVALUATION.ordinal()]) {
+      if (!listener.shouldStopAfterEvaluation(rule, facts, accepted, e)) {
+        return false;
+      }
+    }
+    return true;
   }
 }
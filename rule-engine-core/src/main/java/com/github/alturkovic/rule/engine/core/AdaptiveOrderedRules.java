@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds rules ordered by priority, but periodically reorders rules of equal priority so that rules
+ * with cheap and often accepted conditions are evaluated first, which suits engines stopping after the first accepted rule.
+ * Statistics are gathered by the {@link #statisticsListener(RuleEngineListener) statistics listener} and
+ * every reorder publishes a new immutable snapshot, so iteration never observes a partially reordered state.
+ */
+@Slf4j
+public class AdaptiveOrderedRules implements Rules {
+  private final List<Rule> baseOrder;
+  private final Map<Rule, Integer> indexes = new IdentityHashMap<>();
+  private final LongAdder[] checks;
+  private final LongAdder[] accepts;
+  private final LongAdder[] conditionNanos;
+  private final int reorderInterval;
+  private final AtomicLong iterations = new AtomicLong();
+  private final AtomicBoolean reordering = new AtomicBoolean();
+  private volatile List<Rule> snapshot;
+
+  public AdaptiveOrderedRules(final Rules rules, final int reorderInterval) {
+    if (reorderInterval < 1) {
+      throw new IllegalArgumentException("Reorder interval must be positive: " + reorderInterval);
+    }
+
+    final var sorted = new TreeSet<Rule>();
+    rules.forEach(sorted::add);
+    this.baseOrder = List.copyOf(sorted);
+    this.checks = new LongAdder[baseOrder.size()];
+    this.accepts = new LongAdder[baseOrder.size()];
+    this.conditionNanos = new LongAdder[baseOrder.size()];
+    for (int i = 0; i < baseOrder.size(); i++) {
+      indexes.put(baseOrder.get(i), i);
+      checks[i] = new LongAdder();
+      accepts[i] = new LongAdder();
+      conditionNanos[i] = new LongAdder();
+    }
+    this.reorderInterval = reorderInterval;
+    this.snapshot = baseOrder;
+  }
+
+  @Override
+  public Iterator<Rule> iterator() {
+    if (iterations.incrementAndGet() % reorderInterval == 0) {
+      reorder();
+    }
+    return snapshot.iterator();
+  }
+
+  public List<Rule> getSnapshot() {
+    return snapshot;
+  }
+
+  public RuleEngineListener statisticsListener(final RuleEngineListener delegate) {
+    return new StatisticsListener(delegate);
+  }
+
+  public void reorder() {
+    if (!reordering.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      final var scores = new double[baseOrder.size()];
+      for (int i = 0; i < scores.length; i++) {
+        scores[i] = score(i);
+      }
+
+      final var reordered = new ArrayList<>(baseOrder);
+      reordered.sort(Comparator.comparingInt(Rule::getPriority)
+          .thenComparingDouble(rule -> scores[indexes.get(rule)])
+          .thenComparingInt(indexes::get));
+      snapshot = List.copyOf(reordered);
+      log.debug("Reordered rules: {}", snapshot);
+    } finally {
+      reordering.set(false);
+    }
+  }
+
+  /**
+   * Expected condition cost per accepted evaluation, lower scores should be evaluated first.
+   * Unobserved rules score zero so they are evaluated early and gather statistics.
+   */
+  private double score(final int index) {
+    final var checkCount = checks[index].sum();
+    if (checkCount == 0) {
+      return 0;
+    }
+
+    final var meanNanos = (double) conditionNanos[index].sum() / checkCount;
+    final var acceptRate = (accepts[index].sum() + 1.0) / (checkCount + 2.0);
+    return meanNanos / acceptRate;
+  }
+
+  private void record(final Rule rule, final long nanos, final boolean accepted) {
+    final var index = indexes.get(rule);
+    if (index == null) {
+      return;
+    }
+
+    checks[index].increment();
+    conditionNanos[index].add(nanos);
+    if (accepted) {
+      accepts[index].increment();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveOrderedRules(" + snapshot + ")";
+  }
+
+  private class StatisticsListener extends ForwardingRuleEngineListener {
+    private final ThreadLocal<long[]> conditionStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatisticsListener(final RuleEngineListener delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public void beforeCondition(final Rule rule, final Facts facts) {
+      super.beforeCondition(rule, facts);
+      conditionStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+      record(rule, System.nanoTime() - conditionStart.get()[0], accepted);
+      super.afterCondition(rule, facts, accepted);
+    }
+
+    @Override
+    public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+      record(rule, System.nanoTime() - conditionStart.get()[0], false);
+      super.onConditionError(rule, facts, e);
+    }
+  }
+}
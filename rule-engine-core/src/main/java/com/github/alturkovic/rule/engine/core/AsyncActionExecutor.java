@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.AsyncAction;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link AsyncAction asynchronous actions} on a fixed number of daemon threads fed by a bounded queue.
+ * Once the queue is full, new actions are handled according to the {@link OverflowPolicy}.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class AsyncActionExecutor implements Closeable {
+  private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+  @ToString.Include
+  private final int threads;
+
+  @ToString.Include
+  private final int queueCapacity;
+
+  @ToString.Include
+  private final OverflowPolicy overflowPolicy;
+
+  private final Duration shutdownTimeout;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder dropped = new LongAdder();
+
+  public AsyncActionExecutor(final int threads, final int queueCapacity) {
+    this(threads, queueCapacity, OverflowPolicy.BLOCK, DEFAULT_SHUTDOWN_TIMEOUT);
+  }
+
+  /**
+   * @param shutdownTimeout how long {@link #close()} waits for queued actions to complete, defaults to 30 seconds
+   */
+  @Builder
+  public AsyncActionExecutor(final int threads, final int queueCapacity, final OverflowPolicy overflowPolicy, final Duration shutdownTimeout) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is required: " + threads);
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+    }
+
+    this.threads = threads;
+    this.queueCapacity = queueCapacity;
+    this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.BLOCK : overflowPolicy;
+    this.shutdownTimeout = shutdownTimeout == null ? DEFAULT_SHUTDOWN_TIMEOUT : shutdownTimeout;
+
+    final var counter = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), task -> {
+      final var thread = new Thread(task, "rule-engine-async-action-" + counter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }, new ThreadPoolExecutor.AbortPolicy());
+    this.executor.prestartAllCoreThreads();
+  }
+
+  /**
+   * Schedules the task, returning {@code false} if it was dropped because the queue was full or the executor was closed.
+   */
+  public boolean submit(final Runnable task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (final RejectedExecutionException e) {
+      return overflow(task);
+    }
+  }
+
+  /**
+   * Returns the number of actions dropped since the executor was created.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops accepting new actions and waits for the queued ones to complete.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(shutdownTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        log.warn("Asynchronous actions did not complete within {}, interrupting {} remaining", shutdownTimeout, executor.shutdownNow().size());
+      }
+    } catch (final InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean overflow(final Runnable task) {
+    if (!executor.isShutdown()) {
+      switch (overflowPolicy) {
+        case BLOCK:
+          try {
+            executor.getQueue().put(task);
+            if (!executor.isShutdown() || !executor.remove(task)) {
+              return true;
+            }
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          break;
+        case CALLER_RUNS:
+          task.run();
+          return true;
+        default:
+          break;
+      }
+    }
+    dropped.increment();
+    return false;
+  }
+
+  /**
+   * What to do with an action submitted while the queue is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Wait for space in the queue.
+     */
+    BLOCK,
+    /**
+     * Execute the action on the evaluating thread.
+     */
+    CALLER_RUNS,
+    /**
+     * Drop the action and report it as failed.
+     */
+    DROP
+  }
+}
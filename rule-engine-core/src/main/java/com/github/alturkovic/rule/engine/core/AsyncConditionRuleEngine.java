@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.loader.DataLoader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but first starts all {@link Rule#isAsyncCondition() asynchronous conditions}
+ * and dispatches the keys they requested from the {@link DataLoader data loaders} together, before evaluating the rules in order.
+ * Asynchronous conditions therefore see the facts as they were before any action was executed. Whether to
+ * {@link RuleEngineListener#shouldSkipEvaluation(Rule, Facts) skip} their rules is decided when they are started, before the evaluation is
+ * reported to the listener, while rules after a stopping rule are still started. Listeners are notified about conditions once their results are used.
+ * <p>
+ * A condition which does not complete within the condition timeout, for example because its data loader was not passed to the engine, fails.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class AsyncConditionRuleEngine implements RuleEngine {
+  public static final Duration DEFAULT_CONDITION_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final long DISPATCH_POLL_MILLIS = 1;
+  private static final CompletableFuture<Boolean> SKIPPED = new CompletableFuture<>();
+
+  private final RuleEngineListener listener;
+  private final Rules rules;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final List<DataLoader<?, ?>> loaders;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  private final long conditionTimeoutNanos;
+
+  public AsyncConditionRuleEngine(final RuleEngineListener listener, final Rules rules, final DataLoader<?, ?>... loaders) {
+    this(listener, rules, List.of(loaders));
+  }
+
+  public AsyncConditionRuleEngine(final RuleEngineListener listener, final Rules rules, final List<DataLoader<?, ?>> loaders) {
+    this(listener, rules, DEFAULT_CONDITION_TIMEOUT, loaders);
+  }
+
+  /**
+   * @param conditionTimeout how long to wait for an asynchronous condition once its result is needed
+   */
+  public AsyncConditionRuleEngine(final RuleEngineListener listener, final Rules rules, final Duration conditionTimeout,
+                                  final List<DataLoader<?, ?>> loaders) {
+    this.listener = listener;
+    this.rules = rules;
+    this.loaders = loaders;
+    this.invoker = new RuleInvoker(listener, log);
+    this.conditionTimeoutNanos = conditionTimeout.toNanos();
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    evaluateAll(List.of(facts));
+  }
+
+  /**
+   * Evaluates each of the facts in turn, but starts the asynchronous conditions for all of them first so their lookups are dispatched together.
+   */
+  public void evaluateAll(final List<? extends Facts> batch) {
+    final var ordered = new ArrayList<Rule>();
+    rules.forEach(ordered::add);
+
+    final var started = new ArrayList<List<CompletableFuture<Boolean>>>(batch.size());
+    for (final var facts : batch) {
+      started.add(start(ordered, facts));
+    }
+    dispatch();
+
+    for (var i = 0; i < batch.size(); i++) {
+      final var facts = batch.get(i);
+      invoker.beforeEvaluation(facts);
+      try {
+        fire(facts, ordered, started.get(i));
+      } finally {
+        invoker.afterEvaluation(facts);
+      }
+    }
+  }
+
+  private List<CompletableFuture<Boolean>> start(final List<Rule> ordered, final Facts facts) {
+    final var started = new ArrayList<CompletableFuture<Boolean>>(ordered.size());
+    for (final var rule : ordered) {
+      if (!rule.isAsyncCondition()) {
+        started.add(null);
+        continue;
+      }
+
+      if (invoker.shouldSkip(rule, facts)) {
+        started.add(SKIPPED);
+        continue;
+      }
+
+      try {
+        started.add(rule.acceptAsync(facts).toCompletableFuture());
+      } catch (final Exception e) {
+        started.add(CompletableFuture.failedFuture(e));
+      }
+    }
+    return started;
+  }
+
+  /**
+   * Dispatches all loaders until none of them has pending keys, since loaded values can lead to further lookups.
+   */
+  private int dispatch() {
+    var total = 0;
+    var dispatched = 1;
+    while (dispatched > 0) {
+      dispatched = 0;
+      for (final var loader : loaders) {
+        dispatched += loader.dispatch();
+      }
+      total += dispatched;
+    }
+    return total;
+  }
+
+  private void fire(final Facts facts, final List<Rule> ordered, final List<CompletableFuture<Boolean>> started) {
+    log.debug("Rule engine evaluating: {}", facts);
+    for (var i = 0; i < ordered.size(); i++) {
+      final var rule = ordered.get(i);
+      if (invoker.shouldStopBefore(rule, facts)) {
+        break;
+      }
+
+      final var condition = started.get(i);
+      if (condition == SKIPPED || condition == null && invoker.shouldSkip(rule, facts)) {
+        continue;
+      }
+
+      final var accepted = condition == null ? invoker.accept(rule, facts) : invoker.accept(rule, facts, () -> await(condition));
+      final var exception = accepted ? invoker.execute(rule, facts) : null;
+      if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Waits for the condition, dispatching keys requested by loaders that completed asynchronously in the meantime.
+   */
+  private boolean await(final CompletableFuture<Boolean> started) throws Exception {
+    final var deadline = System.nanoTime() + conditionTimeoutNanos;
+    while (!started.isDone()) {
+      if (System.nanoTime() - deadline >= 0) {
+        throw new IllegalStateException(String.format("Asynchronous condition did not complete within %d ms, are all its data loaders passed to the engine?",
+            TimeUnit.NANOSECONDS.toMillis(conditionTimeoutNanos)));
+      }
+      if (dispatch() == 0) {
+        try {
+          started.get(DISPATCH_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException | ExecutionException ignored) {
+          // checked again by the loop, failures are rethrown below
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+
+    try {
+      return Boolean.TRUE.equals(started.get());
+    } catch (final ExecutionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw (Error) cause;
+    }
+  }
+}
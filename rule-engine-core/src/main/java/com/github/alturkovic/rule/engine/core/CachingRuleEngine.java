@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine} and cache which rules were fired for the relevant {@link Facts}.
+ * When equal facts are evaluated again, the cached rule actions are executed without checking any conditions.
+ * Use only with deterministic rules whose conditions depend solely on the facts used to build the cache key.
+ * Evaluations which fail are never cached and keys resolved as {@code null} bypass the cache.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class CachingRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final Rules rules;
+  private final Function<Facts, ?> keyExtractor;
+  private final EvaluationCache cache;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine engine;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final OutcomeRecordingListener recorder;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine recordingEngine;
+
+  public CachingRuleEngine(final RuleEngineListener listener, final Rules rules, final Function<Facts, ?> keyExtractor, final EvaluationCache cache) {
+    this.listener = listener;
+    this.rules = rules;
+    this.keyExtractor = keyExtractor;
+    this.cache = cache;
+    this.engine = new DefaultRuleEngine(listener, rules);
+    this.recorder = new OutcomeRecordingListener(listener);
+    this.recordingEngine = new DefaultRuleEngine(recorder, rules);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    final var key = keyExtractor.apply(facts);
+    if (key == null) {
+      log.debug("No cache key resolved, evaluating without cache: {}", facts);
+      engine.evaluate(facts);
+      return;
+    }
+
+    final var cached = cache.get(key);
+    if (cached != null) {
+      log.debug("Replaying cached outcome for key '{}' using: {}", key, facts);
+      cached.replay(facts, listener);
+      return;
+    }
+
+    final var outcome = recorder.record(recordingEngine, facts);
+    if (outcome != null) {
+      cache.put(key, outcome);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Singular;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but skips the remaining rules once the evaluation budget is spent.
+ * Conditions can have their own budgets, which are only enforced if a condition executor is provided: conditions then run on the executor
+ * and are interrupted and treated as failed when they overrun. Actions always run on the evaluating thread and are never interrupted.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class DeadlineRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final Rules rules;
+  private final Duration defaultBudget;
+  private final Map<Rule, Duration> ruleBudgets;
+  private final ExecutorService conditionExecutor;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  public DeadlineRuleEngine(final RuleEngineListener listener, final Rules rules, final Duration defaultBudget) {
+    this(listener, rules, defaultBudget, Map.of(), null);
+  }
+
+  /**
+   * @param conditionExecutor optional executor used to run and interrupt conditions overrunning their budget
+   */
+  @Builder
+  public DeadlineRuleEngine(final RuleEngineListener listener, final Rules rules, final Duration defaultBudget,
+                            @Singular final Map<Rule, Duration> ruleBudgets, final ExecutorService conditionExecutor) {
+    this.listener = listener;
+    this.rules = rules;
+    this.defaultBudget = defaultBudget;
+    this.ruleBudgets = ruleBudgets;
+    this.conditionExecutor = conditionExecutor;
+    this.invoker = new RuleInvoker(listener, log);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    evaluate(facts, defaultBudget);
+  }
+
+  public DeadlineResult evaluate(final Facts facts, final Duration budget) {
+    final var deadline = System.nanoTime() + budget.toNanos();
+    invoker.beforeEvaluation(facts);
+    try {
+      return fire(facts, deadline);
+    } finally {
+      invoker.afterEvaluation(facts);
+    }
+  }
+
+  private DeadlineResult fire(final Facts facts, final long deadline) {
+    final var evaluated = new ArrayList<Rule>();
+    final var fired = new ArrayList<Rule>();
+    final var timedOut = new ArrayList<Rule>();
+    final var skipped = new ArrayList<Rule>();
+    var deadlineExceeded = false;
+
+    for (final var rule : rules) {
+      if (deadlineExceeded || System.nanoTime() - deadline >= 0) {
+        if (!deadlineExceeded) {
+          log.debug("Evaluation deadline exceeded before rule '{}', other rules will be skipped", rule);
+          deadlineExceeded = true;
+        }
+        skipped.add(rule);
+        continue;
+      }
+
+      if (invoker.shouldStopBefore(rule, facts)) {
+        break;
+      }
+      if (invoker.shouldSkip(rule, facts)) {
+        continue;
+      }
+
+      evaluated.add(rule);
+      final var accepted = conditionExecutor == null
+          ? invoker.accept(rule, facts)
+          : invoker.accept(rule, facts, () -> acceptWithinBudget(facts, rule, deadline, timedOut));
+      Exception exception = null;
+      if (accepted) {
+        exception = invoker.execute(rule, facts);
+        if (exception == null) {
+          fired.add(rule);
+        }
+      }
+
+      if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
+        break;
+      }
+    }
+
+    return new DeadlineResult(evaluated, fired, timedOut, skipped, deadlineExceeded);
+  }
+
+  /**
+   * Checks the condition on the executor, interrupting it and recording the rule as timed out once it overruns its budget.
+   */
+  private boolean acceptWithinBudget(final Facts facts, final Rule rule, final long deadline, final List<Rule> timedOut) throws Exception {
+    var budgetNanos = deadline - System.nanoTime();
+    final var ruleBudget = ruleBudgets.get(rule);
+    if (ruleBudget != null) {
+      budgetNanos = Math.min(budgetNanos, ruleBudget.toNanos());
+    }
+
+    final var future = conditionExecutor.submit(() -> rule.accept(facts));
+    try {
+      return future.get(budgetNanos, TimeUnit.NANOSECONDS);
+    } catch (final TimeoutException e) {
+      future.cancel(true);
+      timedOut.add(rule);
+      throw e;
+    } catch (final InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw e;
+    } catch (final ExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
+}
@@ -25,10 +25,15 @@
 package com.github.alturkovic.rule.engine.core;
 
 import com.github.alturkovic.rule.engine.api.Action;
+import com.github.alturkovic.rule.engine.api.AsyncAction;
+import com.github.alturkovic.rule.engine.api.AsyncCondition;
 import com.github.alturkovic.rule.engine.api.Condition;
 import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 
@@ -36,6 +41,7 @@ import lombok.Getter;
  * Encapsulates {@link Condition} and {@link Action} to delegate rule calls.
  */
 @Data
+@AllArgsConstructor
 public class DefaultRule implements Rule {
   private final String name;
   private final String description;
@@ -46,6 +52,30 @@ public class DefaultRule implements Rule {
   @Getter(AccessLevel.NONE)
   private final Action action;
 
+  private final Set<String> inputs;
+  private final Set<String> outputs;
+
+  public DefaultRule(final String name, final String description, final int priority, final Condition condition, final Action action) {
+    this(name, description, priority, condition, action, null, null);
+  }
+
+  @Override
+  public boolean isAsyncAction() {
+    return action instanceof AsyncAction;
+  }
+
+  @Override
+  public boolean isAsyncCondition() {
+    return condition instanceof AsyncCondition;
+  }
+
+  @Override
+  public CompletionStage<Boolean> acceptAsync(final Facts facts) {
+    return isAsyncCondition()
+        ? ((AsyncCondition) condition).acceptAsync(facts)
+        : Rule.super.acceptAsync(facts);
+  }
+
   @Override
   public boolean accept(final Facts facts) {
     return condition.accept(facts);
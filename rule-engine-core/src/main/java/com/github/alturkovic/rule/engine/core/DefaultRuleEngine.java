@@ -29,70 +29,81 @@ import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngine;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
 import com.github.alturkovic.rule.engine.api.Rules;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * This implementation will fire all rules that {@link Rule#accept(Facts) accept} the given {@link Facts}.
+ * If an {@link AsyncActionExecutor} is provided, {@link Rule#isAsyncAction() asynchronous actions} are executed on it and the listener
+ * is notified about them from the executing thread once they complete, without them being able to stop the evaluation.
+ * These notifications happen outside of the evaluation, so listeners keeping per-evaluation state in thread locals do not attribute them to it,
+ * for example {@link com.github.alturkovic.rule.engine.trace.TracingRuleEngineListener} leaves them out of the trace.
  */
 @Slf4j
 @ToString
 @EqualsAndHashCode
-@AllArgsConstructor
 public class DefaultRuleEngine implements RuleEngine {
   private final RuleEngineListener listener;
   private final Rules rules;
 
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  public DefaultRuleEngine(final RuleEngineListener listener, final Rules rules) {
+    this(listener, rules, null);
+  }
+
+  public DefaultRuleEngine(final RuleEngineListener listener, final Rules rules, final AsyncActionExecutor asyncActionExecutor) {
+    this(listener, rules, asyncActionExecutor, RuleErrorLog.ALWAYS);
+  }
+
+  /**
+   * @param errorLog logs failing conditions and actions, for example {@link RuleErrorLog#RuleErrorLog(java.time.Duration) rate limited} ones
+   */
+  public DefaultRuleEngine(final RuleEngineListener listener, final Rules rules, final AsyncActionExecutor asyncActionExecutor,
+                           final RuleErrorLog errorLog) {
+    this.listener = listener;
+    this.rules = rules;
+    this.invoker = new RuleInvoker(listener, errorLog, asyncActionExecutor, log);
+  }
+
   @Override
   public void evaluate(final Facts facts) {
+    evaluate(facts, rules);
+  }
+
+  /**
+   * Evaluates the given rules instead of the ones of this engine, so engines selecting rules per evaluation can reuse one engine.
+   */
+  void evaluate(final Facts facts, final Iterable<Rule> rules) {
+    invoker.beforeEvaluation(facts);
+    try {
+      fire(facts, rules);
+    } finally {
+      invoker.afterEvaluation(facts);
+    }
+  }
+
+  /**
+   * Fires the given rules without notifying the listener about the evaluation itself, used by engines evaluating rules in multiple passes.
+   */
+  void fire(final Facts facts, final Iterable<Rule> rules) {
     log.debug("Rule engine evaluating: {}", facts);
     for (final var rule : rules) {
-      if (listener.shouldStopBeforeEvaluation(rule, facts)) {
-        log.debug("Stopping further rule evaluation before '{}' was executed", rule);
+      if (invoker.shouldStopBefore(rule, facts)) {
         break;
       }
-
-      final boolean accepted = isRuleConditionAccepted(facts, rule);
-      Exception exception = null;
-      if (accepted) {
-        log.debug("Executing rule '{}' action using: {}", rule, facts);
-        exception = executeRule(facts, rule);
-      } else {
-        log.debug("Rule '{}' was not accepted by the condition using: {}", rule, facts);
+      if (invoker.shouldSkip(rule, facts)) {
+        continue;
       }
 
-      if (listener.shouldStopAfterEvaluation(rule, facts, accepted, exception)) {
-        log.debug("Stopping further rule evaluation after '{}' was executed", rule);
+      final var accepted = invoker.accept(rule, facts);
+      final var exception = accepted ? invoker.execute(rule, facts) : null;
+      if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
         break;
       }
     }
   }
-
-  private boolean isRuleConditionAccepted(final Facts facts, final Rule rule) {
-    try {
-      listener.beforeCondition(rule, facts);
-      final var accepted = rule.accept(facts);
-      listener.afterCondition(rule, facts, accepted);
-      return accepted;
-    } catch (final Exception e) {
-      log.error(String.format("Rule '%s' failed condition check using: %s", rule, facts), e);
-      listener.onConditionError(rule, facts, e);
-      return false;
-    }
-  }
-
-  private Exception executeRule(final Facts facts, final Rule rule) {
-    try {
-      listener.beforeAction(rule, facts);
-      rule.execute(facts);
-      listener.afterAction(rule, facts);
-    } catch (final Exception e) {
-      log.error(String.format("Rule '%s' failed execution using: %s", rule, facts), e);
-      listener.onActionError(rule, facts, e);
-      return e;
-    }
-    return null;
-  }
 }
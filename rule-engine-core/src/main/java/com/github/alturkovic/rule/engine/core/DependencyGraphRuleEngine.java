@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but runs rules that do not depend on each other in parallel.
+ * A rule depends on every rule ordered before it that writes one of its {@link Rule#getInputs() inputs}, writes one of its
+ * {@link Rule#getOutputs() outputs} or reads one of its outputs, so every fact is read and written in the same order as it would
+ * be by a sequential evaluation. Rules with undeclared inputs or outputs conflict with every rule touching any fact.
+ * <p>
+ * The dependency graph is built once from the order of the rules, ready rules are started in that order.
+ * Each rule checks its condition and executes its action on the same thread, but the listener is called concurrently from multiple threads.
+ * Stopping the evaluation prevents rules that were not started yet from running, rules already running are not interrupted.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class DependencyGraphRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final Rules rules;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final ForkJoinPool pool;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Rule[] ordered;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final int[][] successors;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final int[] predecessorCounts;
+
+  public DependencyGraphRuleEngine(final RuleEngineListener listener, final Rules rules) {
+    this(listener, rules, ForkJoinPool.commonPool());
+  }
+
+  public DependencyGraphRuleEngine(final RuleEngineListener listener, final Rules rules, final ForkJoinPool pool) {
+    this.listener = listener;
+    this.rules = rules;
+    this.pool = pool;
+    this.invoker = new RuleInvoker(listener, log);
+
+    final var ruleList = new ArrayList<Rule>();
+    rules.forEach(ruleList::add);
+    this.ordered = ruleList.toArray(new Rule[0]);
+    this.successors = new int[ordered.length][];
+    this.predecessorCounts = new int[ordered.length];
+    buildGraph();
+  }
+
+  /**
+   * Returns the rules that have to complete before the given rule can be evaluated.
+   */
+  public List<Rule> getDependencies(final Rule rule) {
+    final var dependencies = new ArrayList<Rule>();
+    for (var i = 0; i < ordered.length; i++) {
+      for (final var successor : successors[i]) {
+        if (ordered[successor].equals(rule)) {
+          dependencies.add(ordered[i]);
+        }
+      }
+    }
+    return Collections.unmodifiableList(dependencies);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    invoker.beforeEvaluation(facts);
+    try {
+      log.debug("Rule engine evaluating: {}", facts);
+      new Evaluation(facts).run();
+    } finally {
+      invoker.afterEvaluation(facts);
+    }
+  }
+
+  private void buildGraph() {
+    final var inputs = new ArrayList<Set<String>>(ordered.length);
+    final var outputs = new ArrayList<Set<String>>(ordered.length);
+    for (final var rule : ordered) {
+      inputs.add(rule.getInputs());
+      outputs.add(rule.getOutputs());
+    }
+
+    final var edges = new ArrayList<List<Integer>>();
+    for (var i = 0; i < ordered.length; i++) {
+      edges.add(new ArrayList<>());
+    }
+
+    for (var later = 0; later < ordered.length; later++) {
+      for (var earlier = 0; earlier < later; earlier++) {
+        if (intersect(outputs.get(earlier), inputs.get(later))
+            || intersect(outputs.get(earlier), outputs.get(later))
+            || intersect(inputs.get(earlier), outputs.get(later))) {
+          edges.get(earlier).add(later);
+          predecessorCounts[later]++;
+        }
+      }
+    }
+
+    for (var i = 0; i < ordered.length; i++) {
+      successors[i] = edges.get(i).stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  private static boolean intersect(final Set<String> first, final Set<String> second) {
+    if (first == null) {
+      return second == null || !second.isEmpty();
+    }
+    if (second == null) {
+      return !first.isEmpty();
+    }
+    for (final var fact : first) {
+      if (second.contains(fact)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private class Evaluation {
+    private final Facts facts;
+    private final AtomicIntegerArray pending;
+    private final CountDownLatch remaining;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean stopped;
+
+    Evaluation(final Facts facts) {
+      this.facts = facts;
+      this.pending = new AtomicIntegerArray(predecessorCounts);
+      this.remaining = new CountDownLatch(ordered.length);
+    }
+
+    void run() {
+      for (var i = 0; i < ordered.length; i++) {
+        if (predecessorCounts[i] == 0) {
+          submit(i);
+        }
+      }
+      awaitCompletion();
+
+      final var thrown = failure.get();
+      if (thrown instanceof RuntimeException) {
+        throw (RuntimeException) thrown;
+      }
+      if (thrown instanceof Error) {
+        throw (Error) thrown;
+      }
+    }
+
+    private void submit(final int index) {
+      final var task = ForkJoinTask.adapt(() -> runFrom(index));
+      if (ForkJoinTask.getPool() == pool) {
+        task.fork();
+      } else {
+        pool.execute(task);
+      }
+    }
+
+    /**
+     * Fires the rule and keeps firing the first successor it made ready on the same thread, forking the others.
+     */
+    private void runFrom(final int index) {
+      var next = index;
+      while (next >= 0) {
+        try {
+          if (!stopped) {
+            fire(ordered[next]);
+          }
+        } catch (final Throwable e) {
+          failure.compareAndSet(null, e);
+          stopped = true;
+        }
+        next = release(next);
+      }
+    }
+
+    /**
+     * Forks ready successors from the last to the first, so the worker pops them back in rule order.
+     */
+    private int release(final int index) {
+      var first = -1;
+      final var candidates = successors[index];
+      for (var i = candidates.length - 1; i >= 0; i--) {
+        if (pending.decrementAndGet(candidates[i]) == 0) {
+          if (first >= 0) {
+            submit(first);
+          }
+          first = candidates[i];
+        }
+      }
+      remaining.countDown();
+      return first;
+    }
+
+    private void fire(final Rule rule) {
+      if (invoker.shouldStopBefore(rule, facts)) {
+        stopped = true;
+        return;
+      }
+      if (invoker.shouldSkip(rule, facts)) {
+        return;
+      }
+
+      final var accepted = invoker.accept(rule, facts);
+      final var exception = accepted ? invoker.execute(rule, facts) : null;
+      if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
+        stopped = true;
+      }
+    }
+
+    /**
+     * Waits for all rules to complete, compensating the pool if the evaluation itself runs on one of its workers.
+     */
+    private void awaitCompletion() {
+      var interrupted = false;
+      while (remaining.getCount() > 0) {
+        try {
+          ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+              remaining.await();
+              return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+              return remaining.getCount() == 0;
+            }
+          });
+        } catch (final InterruptedException e) {
+          interrupted = true;
+          stopped = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of {@link EvaluationOutcome evaluation outcomes} evicting least recently used entries and entries older than the time to live.
+ * Entries are split into independently locked segments to reduce contention between threads.
+ */
+public class EvaluationCache {
+  private static final int DEFAULT_SEGMENTS = 16;
+
+  private final Segment[] segments;
+  private final long timeToLiveNanos;
+  private final LongSupplier ticker;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public EvaluationCache(final int maximumSize, final Duration timeToLive) {
+    this(maximumSize, timeToLive, DEFAULT_SEGMENTS, System::nanoTime);
+  }
+
+  EvaluationCache(final int maximumSize, final Duration timeToLive, final int segmentCount, final LongSupplier ticker) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+    }
+
+    final var count = Math.min(segmentCount, maximumSize);
+    this.segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+    }
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.ticker = ticker;
+  }
+
+  public EvaluationOutcome get(final Object key) {
+    final var outcome = segmentFor(key).get(key, ticker.getAsLong());
+    if (outcome == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return outcome;
+  }
+
+  public void put(final Object key, final EvaluationOutcome outcome) {
+    segmentFor(key).put(key, outcome, ticker.getAsLong() + timeToLiveNanos);
+  }
+
+  public void invalidateAll() {
+    for (final var segment : segments) {
+      segment.clear();
+    }
+  }
+
+  public long size() {
+    long size = 0;
+    for (final var segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public double getHitRate() {
+    final var hitCount = getHitCount();
+    final var requestCount = hitCount + getMissCount();
+    return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+  }
+
+  private Segment segmentFor(final Object key) {
+    final var hash = key.hashCode();
+    return segments[Math.floorMod(hash ^ (hash >>> 16), segments.length)];
+  }
+
+  private static final class Entry {
+    private final EvaluationOutcome outcome;
+    private final long expiresAt;
+
+    private Entry(final EvaluationOutcome outcome, final long expiresAt) {
+      this.outcome = outcome;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final class Segment extends LinkedHashMap<Object, Entry> {
+    private final int maximumSize;
+
+    private Segment(final int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    synchronized EvaluationOutcome get(final Object key, final long now) {
+      final var entry = super.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (now - entry.expiresAt >= 0) {
+        remove(key);
+        evictions.increment();
+        return null;
+      }
+      return entry.outcome;
+    }
+
+    synchronized void put(final Object key, final EvaluationOutcome outcome, final long expiresAt) {
+      super.put(key, new Entry(outcome, expiresAt));
+    }
+
+    @Override
+    public synchronized void clear() {
+      super.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+      return super.size();
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Object, Entry> eldest) {
+      if (super.size() > maximumSize) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.List;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rules fired during a single evaluation, in the order they were fired.
+ * Can be replayed on other {@link Facts} to execute the same actions without checking any conditions.
+ */
+@Slf4j
+@Value
+public class EvaluationOutcome {
+  List<Rule> firedRules;
+
+  public void replay(final Facts facts, final RuleEngineListener listener) {
+    listener.beforeEvaluation(facts);
+    try {
+      executeFiredRules(facts, listener);
+    } finally {
+      listener.afterEvaluation(facts);
+    }
+  }
+
+  private void executeFiredRules(final Facts facts, final RuleEngineListener listener) {
+    for (final var rule : firedRules) {
+      log.debug("Replaying rule '{}' action using: {}", rule, facts);
+      try {
+        listener.beforeAction(rule, facts);
+        rule.execute(facts);
+        listener.afterAction(rule, facts);
+      } catch (final Exception e) {
+        RuleErrorLog.ALWAYS.error(log, rule, "failed replayed execution", facts, e);
+        listener.onActionError(rule, facts, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reusable result of an {@link IndexedRuleEngine} evaluation, tracking rules by their {@link RuleIndex} id.
+ * Meant to be reused between evaluations on the same thread, every evaluation resets it first.
+ */
+public class EvaluationResult {
+  private final RuleIndex index;
+  private final BitSet accepted;
+  private final BitSet fired;
+  private final BitSet failed;
+  private final Exception[] errors;
+
+  EvaluationResult(final RuleIndex index) {
+    this.index = index;
+    this.accepted = new BitSet(index.size());
+    this.fired = new BitSet(index.size());
+    this.failed = new BitSet(index.size());
+    this.errors = new Exception[index.size()];
+  }
+
+  public boolean isAccepted(final int ruleId) {
+    return accepted.get(ruleId);
+  }
+
+  public boolean isFired(final int ruleId) {
+    return fired.get(ruleId);
+  }
+
+  public boolean isFailed(final int ruleId) {
+    return failed.get(ruleId);
+  }
+
+  /**
+   * Exception thrown by the condition or the action of the given rule, {@code null} if the rule did not fail.
+   */
+  public Exception getError(final int ruleId) {
+    return errors[ruleId];
+  }
+
+  public boolean isAccepted(final Rule rule) {
+    final var id = index.idOf(rule);
+    return id >= 0 && isAccepted(id);
+  }
+
+  public boolean isFired(final Rule rule) {
+    final var id = index.idOf(rule);
+    return id >= 0 && isFired(id);
+  }
+
+  public BitSet getAcceptedIds() {
+    return (BitSet) accepted.clone();
+  }
+
+  public BitSet getFiredIds() {
+    return (BitSet) fired.clone();
+  }
+
+  public BitSet getFailedIds() {
+    return (BitSet) failed.clone();
+  }
+
+  public int getAcceptedCount() {
+    return accepted.cardinality();
+  }
+
+  public int getFiredCount() {
+    return fired.cardinality();
+  }
+
+  public List<Rule> getAcceptedRules() {
+    return rulesOf(accepted);
+  }
+
+  public List<Rule> getFiredRules() {
+    return rulesOf(fired);
+  }
+
+  public void reset() {
+    accepted.clear();
+    fired.clear();
+    if (!failed.isEmpty()) {
+      failed.clear();
+      Arrays.fill(errors, null);
+    }
+  }
+
+  void accepted(final int ruleId) {
+    accepted.set(ruleId);
+  }
+
+  void fired(final int ruleId) {
+    fired.set(ruleId);
+  }
+
+  void failed(final int ruleId, final Exception e) {
+    failed.set(ruleId);
+    errors[ruleId] = e;
+  }
+
+  boolean belongsTo(final RuleIndex index) {
+    return this.index == index;
+  }
+
+  private List<Rule> rulesOf(final BitSet ids) {
+    final var rules = new ArrayList<Rule>(ids.cardinality());
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      rules.add(index.get(id));
+    }
+    return rules;
+  }
+
+  @Override
+  public String toString() {
+    return "EvaluationResult(accepted=" + accepted + ", fired=" + fired + ", failed=" + failed + ")";
+  }
+}
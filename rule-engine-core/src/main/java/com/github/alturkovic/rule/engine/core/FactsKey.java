@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Immutable key built from the values of the relevant facts, hash is computed only once.
+ */
+public final class FactsKey {
+  private final Object[] values;
+  private final int hash;
+
+  private FactsKey(final Object[] values) {
+    this.values = values;
+    this.hash = Arrays.hashCode(values);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof FactsKey)) {
+      return false;
+    }
+    final var other = (FactsKey) o;
+    return hash == other.hash && Arrays.equals(values, other.values);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "FactsKey" + Arrays.toString(values);
+  }
+
+  /**
+   * Builds keys from the named facts only, undeclared facts are treated as {@code null} values.
+   */
+  public static Function<Facts, Object> of(final String... names) {
+    final var factNames = names.clone();
+    return facts -> {
+      final var values = new Object[factNames.length];
+      for (int i = 0; i < factNames.length; i++) {
+        values[i] = facts.get(factNames[i]);
+      }
+      return new FactsKey(values);
+    };
+  }
+
+  /**
+   * Builds keys from all facts, prefer {@link #of(String...)} since this has to copy all facts.
+   */
+  public static Function<Facts, Object> all() {
+    return facts -> new FactsKey(new Object[]{facts.asMap()});
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine} and record what happened in a reusable {@link EvaluationResult},
+ * with rules identified by their {@link RuleIndex} id. Rules can also only be {@link #match(Facts, EvaluationResult) matched}
+ * by checking their conditions without executing any actions.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class IndexedRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final RuleIndex index;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  public IndexedRuleEngine(final RuleEngineListener listener, final Rules rules) {
+    this.listener = listener;
+    this.index = new RuleIndex(rules);
+    this.invoker = new RuleInvoker(listener, log);
+  }
+
+  public RuleIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Creates a result which can be reused by evaluations of this engine.
+   */
+  public EvaluationResult newResult() {
+    return new EvaluationResult(index);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    evaluate(facts, newResult());
+  }
+
+  public EvaluationResult evaluate(final Facts facts, final EvaluationResult result) {
+    return run(facts, result, true);
+  }
+
+  /**
+   * Checks conditions of all rules and records the accepted ones without executing any actions.
+   */
+  public EvaluationResult match(final Facts facts, final EvaluationResult result) {
+    return run(facts, result, false);
+  }
+
+  private EvaluationResult run(final Facts facts, final EvaluationResult result, final boolean execute) {
+    if (!result.belongsTo(index)) {
+      throw new IllegalArgumentException("Evaluation result was not created by this engine");
+    }
+
+    result.reset();
+    invoker.beforeEvaluation(facts);
+    try {
+      fire(facts, result, execute);
+    } finally {
+      invoker.afterEvaluation(facts);
+    }
+    return result;
+  }
+
+  private void fire(final Facts facts, final EvaluationResult result, final boolean execute) {
+    for (int id = 0; id < index.size(); id++) {
+      final var rule = index.get(id);
+      if (invoker.shouldStopBefore(rule, facts)) {
+        break;
+      }
+      if (invoker.shouldSkip(rule, facts)) {
+        continue;
+      }
+
+      final var ruleId = id;
+      final var accepted = invoker.accept(rule, facts, () -> accept(rule, ruleId, facts, result));
+      Exception exception = null;
+      if (accepted) {
+        result.accepted(id);
+        if (execute) {
+          exception = invoker.execute(rule, facts);
+          if (exception == null) {
+            result.fired(id);
+          } else {
+            result.failed(id, exception);
+          }
+        }
+      }
+
+      if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
+        break;
+      }
+    }
+  }
+
+  private static boolean accept(final Rule rule, final int id, final Facts facts, final EvaluationResult result) throws Exception {
+    try {
+      return rule.accept(facts);
+    } catch (final Exception e) {
+      result.failed(id, e);
+      throw e;
+    }
+  }
+}
@@ -31,7 +31,6 @@ import com.github.alturkovic.rule.engine.api.RuleEngineListener;
 import com.github.alturkovic.rule.engine.api.Rules;
 import java.util.Set;
 import java.util.TreeSet;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -42,20 +41,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ToString
 @EqualsAndHashCode
-@AllArgsConstructor
 public class InferenceRuleEngine implements RuleEngine {
   private final RuleEngineListener listener;
   private final Rules rules;
 
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine engine;
+
+  public InferenceRuleEngine(final RuleEngineListener listener, final Rules rules) {
+    this.listener = listener;
+    this.rules = rules;
+    this.engine = new DefaultRuleEngine(listener, rules);
+  }
+
   @Override
   public void evaluate(final Facts facts) {
+    listener.beforeEvaluation(facts);
+    try {
+      fireUntilNoCandidates(facts);
+    } finally {
+      listener.afterEvaluation(facts);
+    }
+  }
+
+  private void fireUntilNoCandidates(final Facts facts) {
     Set<Rule> selectedRules;
     do {
       log.debug("Selecting candidate rules using: {}", facts);
       selectedRules = selectCandidates(facts);
       if (!selectedRules.isEmpty()) {
-        final var engine = new DefaultRuleEngine(listener, new SimpleOrderedRules(selectedRules));
-        engine.evaluate(facts);
+        engine.fire(facts, selectedRules);
       } else {
         log.debug("No candidate rules found using: {}", facts);
       }
@@ -65,7 +81,7 @@ public class InferenceRuleEngine implements RuleEngine {
   private Set<Rule> selectCandidates(final Facts facts) {
     final var candidates = new TreeSet<Rule>();
     for (final var rule : rules) {
-      if (rule.accept(facts)) {
+      if (!listener.shouldSkipEvaluation(rule, facts) && rule.accept(facts)) {
         candidates.add(rule);
       }
     }
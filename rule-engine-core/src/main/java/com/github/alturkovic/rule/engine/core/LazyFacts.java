@@ -0,0 +1,260 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.ToString;
+
+/**
+ * Implementation which computes facts registered as {@link Supplier suppliers} on their first access and remembers the value, meant to be created
+ * for a single evaluation so expensive facts are only computed if some rule reads them. Each supplier is called at most once even under concurrent
+ * access, unless it fails, in which case it is called again on the next access.
+ * <p>
+ * {@link #isDeclared(String)} does not compute facts and {@link #asMap()} returns a new map for every call, computing facts only as their values
+ * are read. Values written to that map stay in it, like with {@link SimpleFacts#asMap()}, so expressions assigning variables work as with eager facts.
+ */
+@ToString
+public class LazyFacts implements Facts {
+  private final Map<String, ?> factMap;
+  private final Map<String, Memoized> lazyFactMap;
+
+  @Builder
+  public LazyFacts(@Singular("fact") final Map<String, ?> factMap, @Singular("lazyFact") final Map<String, ? extends Supplier<?>> lazyFactMap) {
+    this.factMap = factMap;
+    this.lazyFactMap = new LinkedHashMap<>();
+    lazyFactMap.forEach((name, supplier) -> {
+      if (factMap.containsKey(name)) {
+        throw new IllegalArgumentException(String.format("Fact '%s' is declared both as a value and as a supplier", name));
+      }
+      this.lazyFactMap.put(name, new Memoized(supplier));
+    });
+  }
+
+  @Override
+  public <T> T get(final String name) {
+    final var lazyFact = lazyFactMap.get(name);
+    //noinspection unchecked
+    return (T) (lazyFact != null ? lazyFact.get() : factMap.get(name));
+  }
+
+  @Override
+  public boolean isDeclared(final String name) {
+    return factMap.containsKey(name) || lazyFactMap.containsKey(name);
+  }
+
+  @Override
+  public Map<String, Object> asMap() {
+    return new Overlay();
+  }
+
+  /**
+   * Returns {@code true} if the lazy fact was already computed.
+   */
+  public boolean isComputed(final String name) {
+    final var lazyFact = lazyFactMap.get(name);
+    return lazyFact == null || lazyFact.computed;
+  }
+
+  private static class Memoized {
+    private final Supplier<?> supplier;
+    private volatile boolean computed;
+    private Object value;
+
+    Memoized(final Supplier<?> supplier) {
+      this.supplier = supplier;
+    }
+
+    Object peek() {
+      return computed ? value : null;
+    }
+
+    Object get() {
+      if (!computed) {
+        synchronized (this) {
+          if (!computed) {
+            value = supplier.get();
+            computed = true;
+          }
+        }
+      }
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      return computed ? String.valueOf(value) : "<lazy>";
+    }
+  }
+
+  /**
+   * Keeps values written by expressions, like SpEL or MVEL assignments, to itself, reading other facts lazily from the enclosing facts.
+   */
+  private class Overlay extends AbstractMap<String, Object> {
+    private final Map<String, Object> written = new HashMap<>();
+    private final Set<String> removed = new HashSet<>();
+    private final Set<Entry<String, Object>> entries = new Entries();
+
+    @Override
+    public Object get(final Object key) {
+      if (written.containsKey(key)) {
+        return written.get(key);
+      }
+      return key instanceof String && !removed.contains(key) ? LazyFacts.this.get((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return written.containsKey(key) || isVisible(key);
+    }
+
+    /**
+     * Returns the previous value without computing a lazy fact which was not read yet.
+     */
+    @Override
+    public Object put(final String key, final Object value) {
+      final var previous = written.containsKey(key) ? written.get(key) : isVisible(key) ? peek(key) : null;
+      removed.remove(key);
+      written.put(key, value);
+      return previous;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+      final var previous = written.containsKey(key) ? written.remove(key) : isVisible(key) ? peek((String) key) : null;
+      if (key instanceof String && isDeclared((String) key)) {
+        removed.add((String) key);
+      }
+      return previous;
+    }
+
+    @Override
+    public void clear() {
+      written.clear();
+      removed.addAll(factMap.keySet());
+      removed.addAll(lazyFactMap.keySet());
+    }
+
+    @Override
+    public int size() {
+      var size = written.size();
+      for (final var name : factMap.keySet()) {
+        size += isHidden(name) ? 0 : 1;
+      }
+      for (final var name : lazyFactMap.keySet()) {
+        size += isHidden(name) ? 0 : 1;
+      }
+      return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return entries;
+    }
+
+    private boolean isVisible(final Object key) {
+      return key instanceof String && isDeclared((String) key) && !removed.contains(key);
+    }
+
+    private boolean isHidden(final String name) {
+      return written.containsKey(name) || removed.contains(name);
+    }
+
+    private Object peek(final String name) {
+      final var lazyFact = lazyFactMap.get(name);
+      return lazyFact != null ? lazyFact.peek() : factMap.get(name);
+    }
+
+    private class Entries extends AbstractSet<Map.Entry<String, Object>> {
+
+      @Override
+      public int size() {
+        return Overlay.this.size();
+      }
+
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        final var writes = written.entrySet().iterator();
+        final var names = Stream.concat(factMap.keySet().stream(), lazyFactMap.keySet().stream())
+            .filter(name -> !isHidden(name))
+            .iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return writes.hasNext() || names.hasNext();
+          }
+
+          @Override
+          public Map.Entry<String, Object> next() {
+            return writes.hasNext() ? writes.next() : new LazyEntry(names.next());
+          }
+        };
+      }
+    }
+  }
+
+  private class LazyEntry extends AbstractMap.SimpleImmutableEntry<String, Object> {
+
+    LazyEntry(final String name) {
+      super(name, null);
+    }
+
+    @Override
+    public Object getValue() {
+      return get(getKey());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      final var entry = (Map.Entry<?, ?>) o;
+      return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records fired rules of evaluations running on the current thread, outcomes of evaluations with errors are not reusable.
+ * A single instance can be shared by concurrent evaluations, so engines recording outcomes reuse one {@link DefaultRuleEngine}.
+ */
+class OutcomeRecordingListener extends ForwardingRuleEngineListener {
+  private final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
+  OutcomeRecordingListener(final RuleEngineListener delegate) {
+    super(delegate);
+  }
+
+  /**
+   * Evaluates the facts using the engine notifying this listener.
+   *
+   * @return rules fired by the evaluation, {@code null} if any condition or action failed
+   */
+  EvaluationOutcome record(final RuleEngine engine, final Facts facts) {
+    final var outer = recording.get();
+    final var current = new Recording();
+    recording.set(current);
+    try {
+      engine.evaluate(facts);
+    } finally {
+      if (outer == null) {
+        recording.remove();
+      } else {
+        recording.set(outer);
+      }
+    }
+    return current.failed ? null : new EvaluationOutcome(List.copyOf(current.firedRules));
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    fail();
+    super.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    final var current = recording.get();
+    if (current != null) {
+      current.firedRules.add(rule);
+    }
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    fail();
+    super.onActionError(rule, facts, e);
+  }
+
+  private void fail() {
+    final var current = recording.get();
+    if (current != null) {
+      current.failed = true;
+    }
+  }
+
+  private static class Recording {
+    private final List<Rule> firedRules = new ArrayList<>();
+    private boolean failed;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Holds rules in their natural ordering grouped into contiguous priority buckets,
+ * so rules within a priority range can be selected using a binary search instead of visiting every rule.
+ */
+public class PriorityBucketedRules implements Rules {
+  private final List<Rule> rules;
+  private final int[] bucketPriorities;
+  private final int[] bucketStarts;
+
+  public PriorityBucketedRules(final Rules rules) {
+    final var sorted = new TreeSet<Rule>();
+    rules.forEach(sorted::add);
+    this.rules = List.copyOf(sorted);
+
+    final var priorities = new int[this.rules.size()];
+    final var starts = new int[this.rules.size() + 1];
+    var buckets = 0;
+    for (int i = 0; i < this.rules.size(); i++) {
+      final var priority = this.rules.get(i).getPriority();
+      if (buckets == 0 || priorities[buckets - 1] != priority) {
+        priorities[buckets] = priority;
+        starts[buckets] = i;
+        buckets++;
+      }
+    }
+    starts[buckets] = this.rules.size();
+
+    this.bucketPriorities = Arrays.copyOf(priorities, buckets);
+    this.bucketStarts = Arrays.copyOf(starts, buckets + 1);
+  }
+
+  @Override
+  public Iterator<Rule> iterator() {
+    return rules.iterator();
+  }
+
+  /**
+   * Rules with priorities between {@code minPriority} and {@code maxPriority}, both inclusive.
+   */
+  public Rules range(final int minPriority, final int maxPriority) {
+    final var range = rules.subList(fromIndex(minPriority), toIndex(minPriority, maxPriority));
+    return range::iterator;
+  }
+
+  public int count(final int minPriority, final int maxPriority) {
+    return toIndex(minPriority, maxPriority) - fromIndex(minPriority);
+  }
+
+  public int size() {
+    return rules.size();
+  }
+
+  /**
+   * Distinct priorities of the rules in ascending order.
+   */
+  public int[] getPriorities() {
+    return bucketPriorities.clone();
+  }
+
+  private int fromIndex(final int minPriority) {
+    return bucketStarts[firstBucketAtLeast(minPriority)];
+  }
+
+  private int toIndex(final int minPriority, final int maxPriority) {
+    if (maxPriority < minPriority) {
+      return fromIndex(minPriority);
+    }
+    return bucketStarts[maxPriority == Integer.MAX_VALUE ? bucketPriorities.length : firstBucketAtLeast(maxPriority + 1)];
+  }
+
+  private int firstBucketAtLeast(final int priority) {
+    final var index = Arrays.binarySearch(bucketPriorities, priority);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  @Override
+  public String toString() {
+    return "PriorityBucketedRules(" + rules + ")";
+  }
+}
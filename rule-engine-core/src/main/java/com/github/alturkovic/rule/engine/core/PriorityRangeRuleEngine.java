@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but can evaluate only rules within the requested priority range.
+ * Rules outside of the range are never visited, unlike when stopping evaluation using a {@link com.github.alturkovic.rule.engine.listener.PriorityThresholdListener}.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class PriorityRangeRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final PriorityBucketedRules rules;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine engine;
+
+  public PriorityRangeRuleEngine(final RuleEngineListener listener, final PriorityBucketedRules rules) {
+    this.listener = listener;
+    this.rules = rules;
+    this.engine = new DefaultRuleEngine(listener, rules);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    engine.evaluate(facts);
+  }
+
+  public void evaluate(final Facts facts, final int minPriority, final int maxPriority) {
+    log.debug("Evaluating rules with priorities between {} and {}", minPriority, maxPriority);
+    engine.evaluate(facts, rules.range(minPriority, maxPriority));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.util.WeakIdentityMap;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+
+/**
+ * Logs rule failures of an engine. {@link #ALWAYS} logs every failure at error level, while a log with a window rate limits them per rule instance,
+ * so a single broken rule does not log the facts of every failing evaluation at error level.
+ * The first failure of a rule within each window is logged at error level together with the number of failures not logged since,
+ * later failures within the same window are only counted and logged at debug level.
+ */
+public class RuleErrorLog {
+  public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(30);
+
+  /**
+   * Logs every failure at error level.
+   */
+  public static final RuleErrorLog ALWAYS = new RuleErrorLog(Duration.ZERO);
+
+  private final long windowNanos;
+  private final LongSupplier ticker;
+  private final WeakIdentityMap<Rule, Window> windows;
+
+  /**
+   * @param window time within which only the first failure of a rule is logged at error level, {@link Duration#ZERO} logs all of them
+   */
+  public RuleErrorLog(final Duration window) {
+    this(window, System::nanoTime);
+  }
+
+  RuleErrorLog(final Duration window, final LongSupplier ticker) {
+    if (window.isNegative()) {
+      throw new IllegalArgumentException("Window must not be negative: " + window);
+    }
+
+    this.windowNanos = window.toNanos();
+    this.ticker = ticker;
+    this.windows = windowNanos > 0 ? new WeakIdentityMap<>() : null;
+  }
+
+  /**
+   * Logs a rule failure to the given logger.
+   *
+   * @param failure what failed, for example {@code "failed condition check"}
+   */
+  public void error(final Logger log, final Rule rule, final String failure, final Facts facts, final Exception e) {
+    if (windows == null) {
+      log.error("Rule '{}' {} using: {}", rule, failure, facts, e);
+      return;
+    }
+
+    final var window = windows.computeIfAbsent(rule, r -> new Window());
+    final var now = ticker.getAsLong();
+    final var windowEnd = window.end.get();
+    if ((window.first || now - windowEnd >= 0) && window.end.compareAndSet(windowEnd, now + windowNanos)) {
+      window.first = false;
+      final var suppressed = window.suppressed.getAndSet(0);
+      if (suppressed == 0) {
+        log.error("Rule '{}' {} using: {}", rule, failure, facts, e);
+      } else {
+        log.error("Rule '{}' {} using: {}, {} failures since the last logged one were suppressed", rule, failure, facts, suppressed, e);
+      }
+    } else {
+      window.suppressed.incrementAndGet();
+      log.debug("Rule '{}' {} using: {}", rule, failure, facts, e);
+    }
+  }
+
+  private static class Window {
+    private final AtomicLong end = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private volatile boolean first = true;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns stable ids to rules in their iteration order, meant to replace rule lookups with array access.
+ * Rules are looked up by identity, so use the same rule instances the engine evaluates.
+ */
+public class RuleIndex {
+  private final List<Rule> rules;
+  private final Map<Rule, Integer> ids = new IdentityHashMap<>();
+
+  public RuleIndex(final Rules rules) {
+    final var indexed = new ArrayList<Rule>();
+    for (final var rule : rules) {
+      if (!ids.containsKey(rule)) {
+        ids.put(rule, indexed.size());
+        indexed.add(rule);
+      }
+    }
+    this.rules = List.copyOf(indexed);
+  }
+
+  /**
+   * Id of the given rule or {@code -1} if the rule is not indexed.
+   */
+  public int idOf(final Rule rule) {
+    final var id = ids.get(rule);
+    return id == null ? -1 : id;
+  }
+
+  public Rule get(final int id) {
+    return rules.get(id);
+  }
+
+  public int size() {
+    return rules.size();
+  }
+
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  @Override
+  public String toString() {
+    return "RuleIndex(" + rules + ")";
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_ACTION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_ACTION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.ON_ACTION_ERROR;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.ON_CONDITION_ERROR;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_SKIP_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_BEFORE_EVALUATION;
+
+/**
+ * Checks conditions and executes actions of rules while notifying the listener, so engines only decide which rules are evaluated and when.
+ * Only hooks the listener implements are called. Failing conditions and actions are logged and reported to the listener instead of being thrown.
+ * Messages are logged to the logger of the engine.
+ */
+class RuleInvoker {
+  private final RuleEngineListener listener;
+  private final boolean[] hooks;
+  private final RuleErrorLog errorLog;
+  private final AsyncActionExecutor asyncActionExecutor;
+  private final Logger log;
+
+  RuleInvoker(final RuleEngineListener listener, final Logger log) {
+    this(listener, RuleErrorLog.ALWAYS, null, log);
+  }
+
+  /**
+   * @param asyncActionExecutor optional executor running {@link Rule#isAsyncAction() asynchronous actions}
+   */
+  RuleInvoker(final RuleEngineListener listener, final RuleErrorLog errorLog, final AsyncActionExecutor asyncActionExecutor, final Logger log) {
+    this.listener = listener;
+    this.hooks = ListenerHook.handledBy(listener);
+    this.errorLog = errorLog;
+    this.asyncActionExecutor = asyncActionExecutor;
+    this.log = log;
+  }
+
+  void beforeEvaluation(final Facts facts) {
+    if (hooks[BEFORE_EVALUATION.ordinal()]) {
+      listener.beforeEvaluation(facts);
+    }
+  }
+
+  void afterEvaluation(final Facts facts) {
+    if (hooks[AFTER_EVALUATION.ordinal()]) {
+      listener.afterEvaluation(facts);
+    }
+  }
+
+  boolean shouldStopBefore(final Rule rule, final Facts facts) {
+    if (hooks[SHOULD_STOP_BEFORE_EVALUATION.ordinal()] && listener.shouldStopBeforeEvaluation(rule, facts)) {
+      log.debug("Stopping further rule evaluation before '{}' was executed", rule);
+      return true;
+    }
+    return false;
+  }
+
+  boolean shouldSkip(final Rule rule, final Facts facts) {
+    if (hooks[SHOULD_SKIP_EVALUATION.ordinal()] && listener.shouldSkipEvaluation(rule, facts)) {
+      log.debug("Skipping evaluation of rule '{}'", rule);
+      return true;
+    }
+    return false;
+  }
+
+  boolean shouldStopAfter(final Rule rule, final Facts facts, final boolean accepted, final Exception exception) {
+    if (hooks[SHOULD_STOP_AFTER_EVALUATION.ordinal()] && listener.shouldStopAfterEvaluation(rule, facts, accepted, exception)) {
+      log.debug("Stopping further rule evaluation after '{}' was executed", rule);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Checks the condition of the rule, a failing condition does not accept the facts.
+   */
+  boolean accept(final Rule rule, final Facts facts) {
+    try {
+      if (hooks[BEFORE_CONDITION.ordinal()]) {
+        listener.beforeCondition(rule, facts);
+      }
+      return accepted(rule, facts, rule.accept(facts));
+    } catch (final Exception e) {
+      conditionFailed(rule, facts, e);
+      return false;
+    }
+  }
+
+  /**
+   * Like {@link #accept(Rule, Facts)}, but the engine decides how the condition is checked.
+   */
+  boolean accept(final Rule rule, final Facts facts, final ConditionCheck check) {
+    try {
+      if (hooks[BEFORE_CONDITION.ordinal()]) {
+        listener.beforeCondition(rule, facts);
+      }
+      return accepted(rule, facts, check.accept());
+    } catch (final Exception e) {
+      conditionFailed(rule, facts, e);
+      return false;
+    }
+  }
+
+  /**
+   * Executes the action of the rule, asynchronous ones on the executor if there is one.
+   *
+   * @return the exception of a failed or dropped action, {@code null} otherwise
+   */
+  Exception execute(final Rule rule, final Facts facts) {
+    log.debug("Executing rule '{}' action using: {}", rule, facts);
+    if (asyncActionExecutor == null || !rule.isAsyncAction()) {
+      return executeAction(rule, facts);
+    }
+
+    if (asyncActionExecutor.submit(() -> executeAction(rule, facts))) {
+      return null;
+    }
+
+    final var e = new RejectedExecutionException(String.format("Asynchronous action of rule '%s' was dropped", rule));
+    log.warn("Rule '{}' asynchronous action was dropped using: {}", rule, facts);
+    if (hooks[ON_ACTION_ERROR.ordinal()]) {
+      listener.onActionError(rule, facts, e);
+    }
+    return e;
+  }
+
+  private boolean accepted(final Rule rule, final Facts facts, final boolean accepted) {
+    if (hooks[AFTER_CONDITION.ordinal()]) {
+      listener.afterCondition(rule, facts, accepted);
+    }
+    if (!accepted) {
+      log.debug("Rule '{}' was not accepted by the condition using: {}", rule, facts);
+    }
+    return accepted;
+  }
+
+  private void conditionFailed(final Rule rule, final Facts facts, final Exception e) {
+    if (e instanceof TimeoutException) {
+      log.warn("Rule '{}' condition check timed out", rule);
+    } else {
+      errorLog.error(log, rule, "failed condition check", facts, e);
+    }
+    if (hooks[ON_CONDITION_ERROR.ordinal()]) {
+      listener.onConditionError(rule, facts, e);
+    }
+  }
+
+  private Exception executeAction(final Rule rule, final Facts facts) {
+    try {
+      if (hooks[BEFORE_ACTION.ordinal()]) {
+        listener.beforeAction(rule, facts);
+      }
+      rule.execute(facts);
+      if (hooks[AFTER_ACTION.ordinal()]) {
+        listener.afterAction(rule, facts);
+      }
+    } catch (final Exception e) {
+      errorLog.error(log, rule, "failed execution", facts, e);
+      if (hooks[ON_ACTION_ERROR.ordinal()]) {
+        listener.onActionError(rule, facts, e);
+      }
+      return e;
+    }
+    return null;
+  }
+
+  /**
+   * Checks a condition the way the engine decided to.
+   */
+  @FunctionalInterface
+  interface ConditionCheck {
+    boolean accept() throws Exception;
+  }
+}
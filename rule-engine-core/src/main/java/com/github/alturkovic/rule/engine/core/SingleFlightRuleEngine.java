@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but concurrent evaluations of facts with equal keys are coalesced.
+ * The first evaluation checks the conditions while the others wait for it and then execute the same fired rule actions using their own facts.
+ * Waiting evaluations fall back to a full evaluation if the first one fails or does not finish within the timeout.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class SingleFlightRuleEngine implements RuleEngine {
+  private final RuleEngineListener listener;
+  private final Rules rules;
+  private final Function<Facts, ?> keyExtractor;
+  private final Duration timeout;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final ConcurrentMap<Object, CompletableFuture<EvaluationOutcome>> inFlight = new ConcurrentHashMap<>();
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine engine;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final OutcomeRecordingListener recorder;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final DefaultRuleEngine recordingEngine;
+
+  public SingleFlightRuleEngine(final RuleEngineListener listener, final Rules rules, final Function<Facts, ?> keyExtractor, final Duration timeout) {
+    this.listener = listener;
+    this.rules = rules;
+    this.keyExtractor = keyExtractor;
+    this.timeout = timeout;
+    this.engine = new DefaultRuleEngine(listener, rules);
+    this.recorder = new OutcomeRecordingListener(listener);
+    this.recordingEngine = new DefaultRuleEngine(recorder, rules);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    final var key = keyExtractor.apply(facts);
+    if (key == null) {
+      engine.evaluate(facts);
+      return;
+    }
+
+    final var flight = new CompletableFuture<EvaluationOutcome>();
+    final var existing = inFlight.putIfAbsent(key, flight);
+    if (existing == null) {
+      lead(key, flight, facts);
+    } else {
+      follow(key, existing, facts);
+    }
+  }
+
+  private void lead(final Object key, final CompletableFuture<EvaluationOutcome> flight, final Facts facts) {
+    EvaluationOutcome outcome = null;
+    try {
+      outcome = recorder.record(recordingEngine, facts);
+    } finally {
+      inFlight.remove(key, flight);
+      flight.complete(outcome);
+    }
+  }
+
+  private void follow(final Object key, final CompletableFuture<EvaluationOutcome> flight, final Facts facts) {
+    log.debug("Waiting for in-flight evaluation of key '{}' using: {}", key, facts);
+    final var outcome = await(key, flight);
+    if (outcome != null) {
+      outcome.replay(facts, listener);
+    } else {
+      engine.evaluate(facts);
+    }
+  }
+
+  private EvaluationOutcome await(final Object key, final CompletableFuture<EvaluationOutcome> flight) {
+    try {
+      return flight.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (final TimeoutException e) {
+      log.debug("In-flight evaluation of key '{}' did not finish in {}, evaluating separately", key, timeout);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException e) {
+      log.debug("In-flight evaluation of key '{}' failed, evaluating separately", key, e);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.composite.CompositeRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This implementation will fire rules like {@link DefaultRuleEngine}, but while an action is executing it checks the conditions of the
+ * upcoming rules on the executor. A condition is only checked ahead if its rule declares {@link Rule#getInputs() inputs} that the executing
+ * action does not {@link Rule#getOutputs() write}. Once the evaluation reaches the rule, the result is used only if no action executed in
+ * the meantime wrote one of its inputs, otherwise the condition is checked again.
+ * <p>
+ * Conditions checked ahead must be free of side effects, since their results can be discarded. Composite rules are never checked ahead,
+ * as a discarded check could still replace the accepted child kept for the action. Listeners are notified about conditions
+ * checked ahead on the evaluating thread, in rule order, once their results are used.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class SpeculativeRuleEngine implements RuleEngine {
+  public static final int DEFAULT_LOOKAHEAD = 4;
+
+  private final RuleEngineListener listener;
+  private final Rules rules;
+  private final int lookahead;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final ExecutorService executor;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final RuleInvoker invoker;
+
+  public SpeculativeRuleEngine(final RuleEngineListener listener, final Rules rules, final ExecutorService executor) {
+    this(listener, rules, executor, DEFAULT_LOOKAHEAD);
+  }
+
+  /**
+   * @param lookahead maximum number of upcoming conditions checked ahead of an executing action
+   */
+  @Builder
+  public SpeculativeRuleEngine(final RuleEngineListener listener, final Rules rules, final ExecutorService executor, final int lookahead) {
+    this.listener = listener;
+    this.rules = rules;
+    this.executor = executor;
+    this.lookahead = lookahead > 0 ? lookahead : DEFAULT_LOOKAHEAD;
+    this.invoker = new RuleInvoker(listener, log);
+  }
+
+  @Override
+  public void evaluate(final Facts facts) {
+    invoker.beforeEvaluation(facts);
+    try {
+      log.debug("Rule engine evaluating: {}", facts);
+      new Evaluation(facts).fire();
+    } finally {
+      invoker.afterEvaluation(facts);
+    }
+  }
+
+  private static boolean intersect(final Set<String> outputs, final Set<String> inputs) {
+    if (outputs == null) {
+      return true;
+    }
+    for (final var fact : outputs) {
+      if (inputs.contains(fact)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private class Evaluation {
+    private final Facts facts;
+    private final List<Rule> ordered = new ArrayList<>();
+    private final Speculation[] speculations;
+    private final List<Set<String>> executedOutputs = new ArrayList<>();
+
+    Evaluation(final Facts facts) {
+      this.facts = facts;
+      rules.forEach(ordered::add);
+      this.speculations = new Speculation[ordered.size()];
+    }
+
+    void fire() {
+      try {
+        for (var i = 0; i < ordered.size(); i++) {
+          final var rule = ordered.get(i);
+          if (invoker.shouldStopBefore(rule, facts)) {
+            break;
+          }
+          if (invoker.shouldSkip(rule, facts)) {
+            discard(i);
+            continue;
+          }
+
+          final var index = i;
+          final var accepted = invoker.accept(rule, facts, () -> accept(index, rule));
+          Exception exception = null;
+          if (accepted) {
+            speculate(i, rule.getOutputs());
+            exception = invoker.execute(rule, facts);
+            executedOutputs.add(rule.getOutputs());
+          }
+
+          if (invoker.shouldStopAfter(rule, facts, accepted, exception)) {
+            break;
+          }
+        }
+      } finally {
+        for (var i = 0; i < speculations.length; i++) {
+          discard(i);
+        }
+      }
+    }
+
+    /**
+     * Starts checking the conditions of upcoming rules that do not read any fact the action of the given rule writes.
+     */
+    private void speculate(final int index, final Set<String> outputs) {
+      if (outputs == null) {
+        return;
+      }
+
+      final var end = Math.min(ordered.size(), index + 1 + lookahead);
+      for (var i = index + 1; i < end; i++) {
+        final var rule = ordered.get(i);
+        final var inputs = rule.getInputs();
+        if (speculations[i] != null || inputs == null || rule instanceof CompositeRule || intersect(outputs, inputs)) {
+          continue;
+        }
+
+        try {
+          speculations[i] = new Speculation(executor.submit(() -> rule.accept(facts)), executedOutputs.size(), inputs);
+          log.debug("Speculatively checking condition of rule '{}'", rule);
+        } catch (final RejectedExecutionException e) {
+          log.debug("Executor rejected speculative check of rule '{}'", rule);
+          return;
+        }
+      }
+    }
+
+    /**
+     * Uses the speculative result if no action executed after it was started wrote the facts it read.
+     */
+    private boolean accept(final int index, final Rule rule) throws Exception {
+      final var speculation = speculations[index];
+      speculations[index] = null;
+      if (speculation == null) {
+        return rule.accept(facts);
+      }
+
+      for (var i = speculation.executedActions; i < executedOutputs.size(); i++) {
+        if (intersect(executedOutputs.get(i), speculation.inputs)) {
+          log.debug("Discarding speculative result of rule '{}', its inputs were modified", rule);
+          speculation.result.cancel(true);
+          return rule.accept(facts);
+        }
+      }
+
+      try {
+        return speculation.result.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw e;
+      } catch (final ExecutionException e) {
+        final var cause = e.getCause();
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw (Error) cause;
+      }
+    }
+
+    private void discard(final int index) {
+      final var speculation = speculations[index];
+      if (speculation != null) {
+        speculation.result.cancel(true);
+        speculations[index] = null;
+      }
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class Speculation {
+    private final Future<Boolean> result;
+    private final int executedActions;
+    private final Set<String> inputs;
+  }
+}
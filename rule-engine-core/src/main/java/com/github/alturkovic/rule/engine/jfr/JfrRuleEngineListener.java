@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.jfr;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import jdk.jfr.EventType;
+import lombok.ToString;
+
+/**
+ * Emits Java Flight Recorder events for evaluations, condition checks, actions and errors.
+ * Events are created only while their type is enabled in a running recording, thresholds are configured through the recording settings.
+ */
+@ToString(callSuper = true)
+public class JfrRuleEngineListener extends ForwardingRuleEngineListener {
+  private static final EventType EVALUATION = EventType.getEventType(RuleEvaluationEvent.class);
+  private static final EventType CONDITION = EventType.getEventType(RuleConditionEvent.class);
+  private static final EventType ACTION = EventType.getEventType(RuleActionEvent.class);
+  private static final EventType ERROR = EventType.getEventType(RuleErrorEvent.class);
+
+  @ToString.Exclude
+  private final ThreadLocal<InFlight> inFlight = ThreadLocal.withInitial(InFlight::new);
+
+  public JfrRuleEngineListener() {
+    this(RuleEngineListener.NO_OP);
+  }
+
+  public JfrRuleEngineListener(final RuleEngineListener delegate) {
+    super(delegate);
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    if (EVALUATION.isEnabled()) {
+      final var event = new RuleEvaluationEvent();
+      event.begin();
+      inFlight.get().evaluation = event;
+    }
+    super.beforeEvaluation(facts);
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    super.afterEvaluation(facts);
+    final var current = inFlight.get();
+    final var event = current.evaluation;
+    if (event != null) {
+      current.evaluation = null;
+      event.end();
+      if (event.shouldCommit()) {
+        event.commit();
+      }
+    }
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    super.beforeCondition(rule, facts);
+    if (CONDITION.isEnabled()) {
+      final var event = new RuleConditionEvent();
+      event.begin();
+      inFlight.get().condition = event;
+    }
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    final var current = inFlight.get();
+    final var evaluation = current.evaluation;
+    if (evaluation != null) {
+      evaluation.evaluatedRules++;
+    }
+    commitCondition(current, rule, accepted);
+    super.afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    final var current = inFlight.get();
+    final var evaluation = current.evaluation;
+    if (evaluation != null) {
+      evaluation.evaluatedRules++;
+      evaluation.failedRules++;
+    }
+    commitCondition(current, rule, false);
+    commitError(rule, "condition", e);
+    super.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    super.beforeAction(rule, facts);
+    if (ACTION.isEnabled()) {
+      final var event = new RuleActionEvent();
+      event.begin();
+      inFlight.get().action = event;
+    }
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    final var current = inFlight.get();
+    final var evaluation = current.evaluation;
+    if (evaluation != null) {
+      evaluation.firedRules++;
+    }
+    commitAction(current, rule, true);
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    final var current = inFlight.get();
+    final var evaluation = current.evaluation;
+    if (evaluation != null) {
+      evaluation.failedRules++;
+    }
+    commitAction(current, rule, false);
+    commitError(rule, "action", e);
+    super.onActionError(rule, facts, e);
+  }
+
+  private static void commitCondition(final InFlight current, final Rule rule, final boolean accepted) {
+    final var event = current.condition;
+    if (event != null) {
+      current.condition = null;
+      event.end();
+      if (event.shouldCommit()) {
+        event.ruleName = rule.getName();
+        event.priority = rule.getPriority();
+        event.accepted = accepted;
+        event.commit();
+      }
+    }
+  }
+
+  private static void commitAction(final InFlight current, final Rule rule, final boolean succeeded) {
+    final var event = current.action;
+    if (event != null) {
+      current.action = null;
+      event.end();
+      if (event.shouldCommit()) {
+        event.ruleName = rule.getName();
+        event.priority = rule.getPriority();
+        event.succeeded = succeeded;
+        event.commit();
+      }
+    }
+  }
+
+  private static void commitError(final Rule rule, final String phase, final Exception e) {
+    if (ERROR.isEnabled()) {
+      final var event = new RuleErrorEvent();
+      event.ruleName = rule.getName();
+      event.priority = rule.getPriority();
+      event.phase = phase;
+      event.exceptionClass = e.getClass();
+      event.message = e.getMessage();
+      event.commit();
+    }
+  }
+
+  private static class InFlight {
+    private RuleEvaluationEvent evaluation;
+    private RuleConditionEvent condition;
+    private RuleActionEvent action;
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.HookDeclaringListener;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.util.RingBuffer;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes listener events to a bounded ring buffer which dedicated threads dispatch to the delegate, taking slow listeners off the evaluating thread.
+ * Stopping and skipping decisions are still made synchronously by the delegate. With more than one consumer thread events may be dispatched out of order,
+ * and since facts are not copied the delegate sees them as they are when the event is dispatched.
+ * <p>
+ * Events of all evaluating threads are interleaved on the consumer threads, so delegates keeping per-thread state between a before and
+ * an after event, such as {@link com.github.alturkovic.rule.engine.metrics.RuleMetricsListener}, the JFR or the tracing listener, record wrong
+ * data when wrapped.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class AsyncRuleEngineListener implements HookDeclaringListener, Closeable {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+  @ToString.Include
+  private final RuleEngineListener delegate;
+
+  @ToString.Include
+  private final OverflowPolicy overflowPolicy;
+
+  private final int sampleRate;
+  private final Set<ListenerHook> hooks;
+  private final RingBuffer<Event> buffer;
+  private final List<Thread> consumers;
+  private final AtomicLong published = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final AtomicInteger publishers = new AtomicInteger();
+  private volatile boolean running = true;
+  private volatile boolean consuming = true;
+
+  public AsyncRuleEngineListener(final RuleEngineListener delegate, final int bufferCapacity) {
+    this(delegate, bufferCapacity, 1, OverflowPolicy.BLOCK, 1);
+  }
+
+  /**
+   * @param consumerThreads number of threads dispatching events to the delegate, defaults to one
+   * @param overflowPolicy  handling of events published to a full buffer, defaults to {@link OverflowPolicy#BLOCK}
+   * @param sampleRate      one in how many events is still published by the {@link OverflowPolicy#SAMPLE} policy once the buffer is half full
+   */
+  @Builder
+  public AsyncRuleEngineListener(final RuleEngineListener delegate, final int bufferCapacity, final int consumerThreads,
+                                 final OverflowPolicy overflowPolicy, final int sampleRate) {
+    if (consumerThreads < 0) {
+      throw new IllegalArgumentException("Consumer thread count must not be negative: " + consumerThreads);
+    }
+    if (overflowPolicy == OverflowPolicy.SAMPLE && sampleRate < 1) {
+      throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+    }
+
+    this.delegate = delegate;
+    this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.BLOCK : overflowPolicy;
+    this.sampleRate = sampleRate;
+    this.hooks = ListenerHook.of(delegate);
+    this.buffer = new RingBuffer<>(bufferCapacity);
+    final var threads = consumerThreads == 0 ? 1 : consumerThreads;
+    this.consumers = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      final var consumer = new Thread(this::consume, "rule-engine-async-listener-" + i);
+      consumer.setDaemon(true);
+      consumers.add(consumer);
+      consumer.start();
+    }
+  }
+
+  @Override
+  public Set<ListenerHook> getHooks() {
+    return hooks;
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    publish(new Event(ListenerHook.BEFORE_EVALUATION, null, facts, false, null));
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    publish(new Event(ListenerHook.AFTER_EVALUATION, null, facts, false, null));
+  }
+
+  @Override
+  public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
+    return delegate.shouldStopBeforeEvaluation(rule, facts);
+  }
+
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    return delegate.shouldSkipEvaluation(rule, facts);
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    publish(new Event(ListenerHook.BEFORE_CONDITION, rule, facts, false, null));
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    publish(new Event(ListenerHook.AFTER_CONDITION, rule, facts, accepted, null));
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    publish(new Event(ListenerHook.ON_CONDITION_ERROR, rule, facts, false, e));
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    publish(new Event(ListenerHook.BEFORE_ACTION, rule, facts, true, null));
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    publish(new Event(ListenerHook.AFTER_ACTION, rule, facts, true, null));
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    publish(new Event(ListenerHook.ON_ACTION_ERROR, rule, facts, true, e));
+  }
+
+  @Override
+  public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
+    return delegate.shouldStopAfterEvaluation(rule, facts, accepted, e);
+  }
+
+  /**
+   * Events dropped because the buffer was full or the listener was closed.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops accepting events and waits for the consumer threads to dispatch the events published so far.
+   */
+  @Override
+  public void close() {
+    running = false;
+    while (publishers.get() > 0) {
+      LockSupport.parkNanos(this, FULL_PARK_NANOS);
+    }
+
+    consuming = false;
+    for (final var consumer : consumers) {
+      LockSupport.unpark(consumer);
+    }
+    for (final var consumer : consumers) {
+      try {
+        consumer.join();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Counted as an in-flight publisher, so {@link #close()} drains the buffer only after every event that passed the running check is published.
+   */
+  private void publish(final Event event) {
+    publishers.incrementAndGet();
+    try {
+      if (!running) {
+        dropped.increment();
+        return;
+      }
+
+      switch (overflowPolicy) {
+        case BLOCK:
+          while (!buffer.offer(event)) {
+            if (!running) {
+              dropped.increment();
+              return;
+            }
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+          }
+          return;
+        case SAMPLE:
+          if (buffer.size() >= buffer.capacity() / 2 && published.getAndIncrement() % sampleRate != 0) {
+            dropped.increment();
+            return;
+          }
+          offerOrDrop(event);
+          return;
+        case DROP:
+          offerOrDrop(event);
+          return;
+        default:
+          throw new IllegalStateException("Unknown overflow policy: " + overflowPolicy);
+      }
+    } finally {
+      publishers.decrementAndGet();
+    }
+  }
+
+  private void offerOrDrop(final Event event) {
+    if (!buffer.offer(event)) {
+      dropped.increment();
+    }
+  }
+
+  private void consume() {
+    while (consuming) {
+      final var event = buffer.poll();
+      if (event == null) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+      } else {
+        dispatch(event);
+      }
+    }
+
+    Event event;
+    while ((event = buffer.poll()) != null) {
+      dispatch(event);
+    }
+  }
+
+  private void dispatch(final Event event) {
+    try {
+      switch (event.hook) {
+        case BEFORE_EVALUATION:
+          delegate.beforeEvaluation(event.facts);
+          break;
+        case AFTER_EVALUATION:
+          delegate.afterEvaluation(event.facts);
+          break;
+        case BEFORE_CONDITION:
+          delegate.beforeCondition(event.rule, event.facts);
+          break;
+        case AFTER_CONDITION:
+          delegate.afterCondition(event.rule, event.facts, event.accepted);
+          break;
+        case ON_CONDITION_ERROR:
+          delegate.onConditionError(event.rule, event.facts, event.exception);
+          break;
+        case BEFORE_ACTION:
+          delegate.beforeAction(event.rule, event.facts);
+          break;
+        case AFTER_ACTION:
+          delegate.afterAction(event.rule, event.facts);
+          break;
+        case ON_ACTION_ERROR:
+          delegate.onActionError(event.rule, event.facts, event.exception);
+          break;
+        default:
+          throw new IllegalStateException("Event cannot be dispatched asynchronously: " + event.hook);
+      }
+    } catch (final Exception e) {
+      log.error("Listener '{}' failed handling {}", delegate, event, e);
+    }
+  }
+
+  /**
+   * What to do with events published while the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Wait on the evaluating thread until there is room in the buffer.
+     */
+    BLOCK,
+    /**
+     * Drop events which do not fit in the buffer.
+     */
+    DROP,
+    /**
+     * Publish only a sample of events once the buffer is half full and drop events which do not fit.
+     */
+    SAMPLE
+  }
+
+  @Value
+  private static class Event {
+    ListenerHook hook;
+    Rule rule;
+    Facts facts;
+    boolean accepted;
+    Exception exception;
+  }
+}
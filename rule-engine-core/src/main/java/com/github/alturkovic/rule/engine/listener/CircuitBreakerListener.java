@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Skips rules which keep failing, so a single broken rule does not keep failing and logging errors on every evaluation.
+ * A rule circuit opens once the failure rate within a window of {@code minimumCalls} evaluations reaches the threshold,
+ * after the open duration a few probing evaluations are let through and their outcome decides whether the circuit closes or opens again.
+ * A probe is taken once the rule condition is checked, so checks not reporting a condition result do not use up probes,
+ * concurrent evaluations passing the check at the same time may probe a rule more often than configured.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class CircuitBreakerListener implements RuleEngineListener {
+  private static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+  private static final int DEFAULT_MINIMUM_CALLS = 20;
+  private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+  private static final int DEFAULT_HALF_OPEN_PROBES = 3;
+
+  @ToString.Include
+  private final double failureRateThreshold;
+  @ToString.Include
+  private final int minimumCalls;
+  @ToString.Include
+  private final long openDurationNanos;
+  @ToString.Include
+  private final int halfOpenProbes;
+  private final LongSupplier ticker;
+  private final Map<Rule, Breaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * Unset values default to a failure rate threshold of {@value #DEFAULT_FAILURE_RATE_THRESHOLD}, a window of {@value #DEFAULT_MINIMUM_CALLS}
+   * evaluations, 30 seconds of open duration and {@value #DEFAULT_HALF_OPEN_PROBES} half open probes.
+   */
+  @Builder
+  public CircuitBreakerListener(final double failureRateThreshold, final int minimumCalls, final Duration openDuration, final int halfOpenProbes) {
+    this(failureRateThreshold == 0 ? DEFAULT_FAILURE_RATE_THRESHOLD : failureRateThreshold,
+        minimumCalls == 0 ? DEFAULT_MINIMUM_CALLS : minimumCalls,
+        openDuration == null ? DEFAULT_OPEN_DURATION : openDuration,
+        halfOpenProbes == 0 ? DEFAULT_HALF_OPEN_PROBES : halfOpenProbes,
+        System::nanoTime);
+  }
+
+  CircuitBreakerListener(final double failureRateThreshold, final int minimumCalls, final Duration openDuration, final int halfOpenProbes,
+                         final LongSupplier ticker) {
+    if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+      throw new IllegalArgumentException("Failure rate threshold must be greater than 0 and at most 1: " + failureRateThreshold);
+    }
+    if (minimumCalls < 1 || halfOpenProbes < 1) {
+      throw new IllegalArgumentException(String.format("Minimum calls (%d) and half open probes (%d) must be positive", minimumCalls, halfOpenProbes));
+    }
+
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumCalls = minimumCalls;
+    this.openDurationNanos = openDuration.toNanos();
+    this.halfOpenProbes = halfOpenProbes;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    final var breaker = breakers.get(rule);
+    return breaker != null && breaker.shouldSkip(rule);
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    final var breaker = breakers.get(rule);
+    if (breaker != null) {
+      breaker.takeProbe();
+    }
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    if (!accepted) {
+      breaker(rule).record(rule, false);
+    }
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    breaker(rule).record(rule, true);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    breaker(rule).record(rule, false);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    breaker(rule).record(rule, true);
+  }
+
+  public State getState(final Rule rule) {
+    final var breaker = breakers.get(rule);
+    return breaker == null ? State.CLOSED : breaker.state;
+  }
+
+  /**
+   * Evaluations of the given rule skipped while its circuit was open.
+   */
+  public long getSkippedCount(final Rule rule) {
+    final var breaker = breakers.get(rule);
+    return breaker == null ? 0 : breaker.skipped.sum();
+  }
+
+  private Breaker breaker(final Rule rule) {
+    return breakers.computeIfAbsent(rule, r -> new Breaker());
+  }
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private class Breaker {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger probes = new AtomicInteger();
+    private final LongAdder skipped = new LongAdder();
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+
+    private boolean shouldSkip(final Rule rule) {
+      var current = state;
+      if (current == State.OPEN && ticker.getAsLong() - openUntil >= 0) {
+        current = halfOpen(rule);
+      }
+      if (current == State.CLOSED || current == State.HALF_OPEN && probes.get() > 0) {
+        return false;
+      }
+      skipped.increment();
+      return true;
+    }
+
+    private void takeProbe() {
+      if (state == State.HALF_OPEN) {
+        probes.decrementAndGet();
+      }
+    }
+
+    private void record(final Rule rule, final boolean failed) {
+      final var current = state;
+      if (current == State.HALF_OPEN) {
+        if (failed) {
+          open(rule, "probe failed");
+        } else if (calls.incrementAndGet() >= halfOpenProbes) {
+          close(rule);
+        }
+      } else if (current == State.CLOSED) {
+        if (failed) {
+          failures.incrementAndGet();
+        }
+        if (calls.incrementAndGet() == minimumCalls) {
+          final var failedCalls = failures.getAndSet(0);
+          calls.set(0);
+          if ((double) failedCalls / minimumCalls >= failureRateThreshold) {
+            open(rule, String.format("%d of %d evaluations failed", failedCalls, minimumCalls));
+          }
+        }
+      }
+    }
+
+    private synchronized State halfOpen(final Rule rule) {
+      if (state == State.OPEN && ticker.getAsLong() - openUntil >= 0) {
+        calls.set(0);
+        probes.set(halfOpenProbes);
+        state = State.HALF_OPEN;
+        log.info("Circuit of rule '{}' is half open after skipping {} evaluations", rule, skipped.sum());
+      }
+      return state;
+    }
+
+    private synchronized void open(final Rule rule, final String reason) {
+      if (state != State.OPEN) {
+        openUntil = ticker.getAsLong() + openDurationNanos;
+        state = State.OPEN;
+        log.warn("Circuit of rule '{}' opened, {}", rule, reason);
+      }
+    }
+
+    private synchronized void close(final Rule rule) {
+      if (state == State.HALF_OPEN) {
+        calls.set(0);
+        failures.set(0);
+        state = State.CLOSED;
+        log.info("Circuit of rule '{}' closed", rule);
+      }
+    }
+  }
+}
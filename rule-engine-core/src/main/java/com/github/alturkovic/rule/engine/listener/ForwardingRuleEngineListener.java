@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.HookDeclaringListener;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Forwards all events to the delegate listener, meant to be extended by listeners which only observe some events
+ * without changing the stopping decisions of the delegate.
+ */
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ForwardingRuleEngineListener implements HookDeclaringListener {
+  private static final ClassValue<Set<ListenerHook>> OVERRIDDEN = new ClassValue<>() {
+    @Override
+    protected Set<ListenerHook> computeValue(final Class<?> type) {
+      return ListenerHook.detect(type, ForwardingRuleEngineListener.class);
+    }
+  };
+
+  private final RuleEngineListener delegate;
+
+  @Override
+  public Set<ListenerHook> getHooks() {
+    final var hooks = EnumSet.noneOf(ListenerHook.class);
+    hooks.addAll(ListenerHook.of(delegate));
+    hooks.addAll(OVERRIDDEN.get(getClass()));
+    return Collections.unmodifiableSet(hooks);
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    delegate.beforeEvaluation(facts);
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    delegate.afterEvaluation(facts);
+  }
+
+  @Override
+  public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
+    return delegate.shouldStopBeforeEvaluation(rule, facts);
+  }
+
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    return delegate.shouldSkipEvaluation(rule, facts);
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    delegate.beforeCondition(rule, facts);
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    delegate.afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    delegate.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    delegate.beforeAction(rule, facts);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    delegate.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    delegate.onActionError(rule, facts, e);
+  }
+
+  @Override
+  public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
+    return delegate.shouldStopAfterEvaluation(rule, facts, accepted, e);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.core.PriorityBucketedRules;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive {@link PriorityThresholdListener} which skips less important rules while the engine is overloaded.
+ * After every window of evaluations the priority cut-off is lowered multiplicatively if the mean evaluation latency or the queue depth exceeded
+ * their targets, otherwise it is raised by one priority level. Rules with a priority at or below the critical priority are never skipped.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class LoadSheddingListener implements RuleEngineListener {
+  private static final int DEFAULT_WINDOW_SIZE = 100;
+  private static final double DEFAULT_DECREASE_FACTOR = 0.5;
+  private static final IntSupplier NO_QUEUE = () -> 0;
+
+  private final PriorityBucketedRules rules;
+  private final int[] priorities;
+  private final int minimumLevels;
+  @ToString.Include
+  private final long targetLatencyNanos;
+  private final IntSupplier queueDepth;
+  @ToString.Include
+  private final int maxQueueDepth;
+  private final int windowSize;
+  private final double decreaseFactor;
+  private final LongSupplier ticker;
+
+  private final ThreadLocal<long[]> evaluationStart = ThreadLocal.withInitial(() -> new long[1]);
+  private final AtomicLong evaluations = new AtomicLong();
+  private final LongAdder windowLatencyNanos = new LongAdder();
+  private final LongAdder shedRules = new LongAdder();
+  private final LongAdder sheddingEvaluations = new LongAdder();
+  @ToString.Include
+  private volatile int admittedLevels;
+  private volatile int threshold = Integer.MAX_VALUE;
+
+  /**
+   * @param queueDepth     optional supplier of the number of requests waiting for evaluation
+   * @param maxQueueDepth  queue depth above which the engine is considered overloaded, ignored without a queue depth supplier
+   * @param windowSize     evaluations between adjustments of the cut-off, defaults to {@value #DEFAULT_WINDOW_SIZE}
+   * @param decreaseFactor fraction of admitted priority levels kept when overloaded, defaults to {@value #DEFAULT_DECREASE_FACTOR}
+   */
+  @Builder
+  public LoadSheddingListener(final Rules rules, final Duration targetLatency, final int criticalPriority, final IntSupplier queueDepth,
+                              final int maxQueueDepth, final int windowSize, final double decreaseFactor) {
+    this(rules, targetLatency, criticalPriority, queueDepth == null ? NO_QUEUE : queueDepth, queueDepth == null ? Integer.MAX_VALUE : maxQueueDepth,
+        windowSize == 0 ? DEFAULT_WINDOW_SIZE : windowSize, decreaseFactor == 0 ? DEFAULT_DECREASE_FACTOR : decreaseFactor, System::nanoTime);
+  }
+
+  LoadSheddingListener(final Rules rules, final Duration targetLatency, final int criticalPriority, final IntSupplier queueDepth,
+                       final int maxQueueDepth, final int windowSize, final double decreaseFactor, final LongSupplier ticker) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+    }
+    if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+      throw new IllegalArgumentException("Decrease factor must be between 0 and 1: " + decreaseFactor);
+    }
+
+    this.rules = new PriorityBucketedRules(rules);
+    this.priorities = this.rules.getPriorities();
+    this.minimumLevels = Math.min(priorities.length, Math.max(1, countLevelsUpTo(priorities, criticalPriority)));
+    this.targetLatencyNanos = targetLatency.toNanos();
+    this.queueDepth = queueDepth;
+    this.maxQueueDepth = maxQueueDepth;
+    this.windowSize = windowSize;
+    this.decreaseFactor = decreaseFactor;
+    this.ticker = ticker;
+    this.admittedLevels = priorities.length;
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    evaluationStart.get()[0] = ticker.getAsLong();
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    windowLatencyNanos.add(ticker.getAsLong() - evaluationStart.get()[0]);
+    if (evaluations.incrementAndGet() % windowSize == 0) {
+      adjust();
+    }
+  }
+
+  @Override
+  public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
+    final var cutOff = threshold;
+    if (rule.getPriority() > cutOff) {
+      shedRules.add(rules.count(cutOff + 1, Integer.MAX_VALUE));
+      sheddingEvaluations.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Highest priority currently evaluated, {@link Integer#MAX_VALUE} while no rules are skipped.
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  public long getShedRuleCount() {
+    return shedRules.sum();
+  }
+
+  public long getSheddingEvaluationCount() {
+    return sheddingEvaluations.sum();
+  }
+
+  private synchronized void adjust() {
+    final var meanLatency = windowLatencyNanos.sumThenReset() / windowSize;
+    final var overloaded = meanLatency > targetLatencyNanos || queueDepth.getAsInt() > maxQueueDepth;
+    final var levels = overloaded
+        ? Math.max(minimumLevels, (int) (admittedLevels * decreaseFactor))
+        : Math.min(priorities.length, admittedLevels + 1);
+
+    if (levels != admittedLevels) {
+      admittedLevels = levels;
+      threshold = levels == priorities.length ? Integer.MAX_VALUE : priorities[levels - 1];
+      log.debug("Rule priority cut-off changed to {} with mean evaluation latency of {}ns", threshold, meanLatency);
+    }
+  }
+
+  private static int countLevelsUpTo(final int[] priorities, final int priority) {
+    var count = 0;
+    while (count < priorities.length && priorities[count] <= priority) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.HookDeclaringListener;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.composite.CompositeRuleEngineListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Routes events of specific rules to their listeners, replacing multiple {@link SpecificRuleListener} instances.
+ * Routed rule instances are looked up by identity, so routing them does not call {@link Rule#equals(Object)} on every event,
+ * other instances fall back to an equality lookup.
+ */
+@ToString
+@EqualsAndHashCode
+public class RuleListenerRouter implements HookDeclaringListener {
+  private final Map<Rule, RuleEngineListener> routes;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Map<Rule, RuleEngineListener> routedInstances;
+
+  private RuleListenerRouter(final Map<Rule, RuleEngineListener> routes) {
+    this.routes = routes;
+    this.routedInstances = new IdentityHashMap<>(routes);
+  }
+
+  @Override
+  public Set<ListenerHook> getHooks() {
+    final var hooks = EnumSet.noneOf(ListenerHook.class);
+    routes.values().forEach(listener -> hooks.addAll(ListenerHook.of(listener)));
+    hooks.removeAll(EnumSet.of(ListenerHook.BEFORE_EVALUATION, ListenerHook.AFTER_EVALUATION));
+    return Collections.unmodifiableSet(hooks);
+  }
+
+  @Override
+  public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
+    return route(rule).shouldStopBeforeEvaluation(rule, facts);
+  }
+
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    return route(rule).shouldSkipEvaluation(rule, facts);
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    route(rule).beforeCondition(rule, facts);
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    route(rule).afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    route(rule).onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    route(rule).beforeAction(rule, facts);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    route(rule).afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    route(rule).onActionError(rule, facts, e);
+  }
+
+  @Override
+  public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
+    return route(rule).shouldStopAfterEvaluation(rule, facts, accepted, e);
+  }
+
+  private RuleEngineListener route(final Rule rule) {
+    final var listener = routedInstances.get(rule);
+    return listener != null ? listener : routes.getOrDefault(rule, RuleEngineListener.NO_OP);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final Map<Rule, List<RuleEngineListener>> routes = new LinkedHashMap<>();
+
+    public Builder route(final Rule rule, final RuleEngineListener listener) {
+      routes.computeIfAbsent(rule, r -> new ArrayList<>()).add(listener);
+      return this;
+    }
+
+    public RuleListenerRouter build() {
+      final var listeners = new HashMap<Rule, RuleEngineListener>();
+      routes.forEach((rule, ruleListeners) -> listeners.put(rule, ruleListeners.size() == 1
+          ? ruleListeners.get(0)
+          : new CompositeRuleEngineListener(List.copyOf(ruleListeners))));
+      return new RuleListenerRouter(Map.copyOf(listeners));
+    }
+  }
+}
@@ -25,8 +25,13 @@
 package com.github.alturkovic.rule.engine.listener;
 
 import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.HookDeclaringListener;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -34,10 +39,18 @@ import lombok.ToString;
 @ToString
 @EqualsAndHashCode
 @AllArgsConstructor
-public class SpecificRuleListener implements RuleEngineListener {
+public class SpecificRuleListener implements HookDeclaringListener {
   private final Rule rule;
   private final RuleEngineListener listener;
 
+  @Override
+  public Set<ListenerHook> getHooks() {
+    final var hooks = EnumSet.noneOf(ListenerHook.class);
+    hooks.addAll(ListenerHook.of(listener));
+    hooks.removeAll(EnumSet.of(ListenerHook.BEFORE_EVALUATION, ListenerHook.AFTER_EVALUATION));
+    return Collections.unmodifiableSet(hooks);
+  }
+
   @Override
   public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
     if (this.rule.equals(rule)) {
@@ -46,6 +59,14 @@ public class SpecificRuleListener implements RuleEngineListener {
     return false;
   }
 
+  @Override
+  public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+    if (this.rule.equals(rule)) {
+      return listener.shouldSkipEvaluation(rule, facts);
+    }
+    return false;
+  }
+
   @Override
   public void beforeCondition(final Rule rule, final Facts facts) {
     if (this.rule.equals(rule)) {
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.loader;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects keys requested by {@link com.github.alturkovic.rule.engine.api.AsyncCondition asynchronous conditions} until they are
+ * {@link #dispatch() dispatched} together through the {@link BatchLoader}. Keys requested multiple times before a dispatch are loaded once,
+ * values are not cached across dispatches.
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class DataLoader<K, V> {
+  private final BatchLoader<K, V> batchLoader;
+
+  @ToString.Include
+  private final int maxBatchSize;
+
+  private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+  public DataLoader(final BatchLoader<K, V> batchLoader) {
+    this(batchLoader, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxBatchSize maximum number of keys passed to a single {@link BatchLoader#load(java.util.Set)} call
+   */
+  public DataLoader(final BatchLoader<K, V> batchLoader, final int maxBatchSize) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+    }
+
+    this.batchLoader = batchLoader;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Requests the value of the key, completed once the key is dispatched and loaded.
+   */
+  public synchronized CompletableFuture<V> load(final K key) {
+    return pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+  }
+
+  /**
+   * Returns the number of keys waiting to be dispatched.
+   */
+  public synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Loads all pending keys, returning the number of keys dispatched.
+   */
+  public int dispatch() {
+    final Map<K, CompletableFuture<V>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return 0;
+      }
+      batch = pending;
+      pending = new LinkedHashMap<>();
+    }
+
+    final var keys = new ArrayList<>(batch.keySet());
+    for (var from = 0; from < keys.size(); from += maxBatchSize) {
+      final var chunk = keys.subList(from, Math.min(keys.size(), from + maxBatchSize));
+      load(chunk, batch);
+    }
+    return batch.size();
+  }
+
+  private void load(final List<K> keys, final Map<K, CompletableFuture<V>> futures) {
+    log.debug("Loading {} keys", keys.size());
+    try {
+      batchLoader.load(new LinkedHashSet<>(keys)).whenComplete((values, e) -> {
+        for (final var key : keys) {
+          final var future = futures.get(key);
+          if (e != null) {
+            future.completeExceptionally(e);
+          } else {
+            future.complete(values.get(key));
+          }
+        }
+      });
+    } catch (final RuntimeException e) {
+      log.error("Failed loading keys: {}", keys, e);
+      for (final var key : keys) {
+        futures.get(key).completeExceptionally(e);
+      }
+    }
+  }
+}
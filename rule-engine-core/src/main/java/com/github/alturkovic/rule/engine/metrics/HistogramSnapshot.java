@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import java.beans.ConstructorProperties;
+import lombok.Value;
+
+/**
+ * Point in time view of a {@link LatencyHistogram}, percentiles are upper bounds of the matching histogram buckets.
+ */
+@Value
+public class HistogramSnapshot {
+  long count;
+  double meanNanos;
+  long p50Nanos;
+  long p90Nanos;
+  long p99Nanos;
+  long p999Nanos;
+  long maxNanos;
+
+  @ConstructorProperties({"count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+  public HistogramSnapshot(final long count, final double meanNanos, final long p50Nanos, final long p90Nanos,
+                           final long p99Nanos, final long p999Nanos, final long maxNanos) {
+    this.count = count;
+    this.meanNanos = meanNanos;
+    this.p50Nanos = p50Nanos;
+    this.p90Nanos = p90Nanos;
+    this.p99Nanos = p99Nanos;
+    this.p999Nanos = p999Nanos;
+    this.maxNanos = maxNanos;
+  }
+}
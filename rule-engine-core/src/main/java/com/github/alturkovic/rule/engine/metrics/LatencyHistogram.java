@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies with 16 linear sub-buckets per power of two, giving about 6% precision.
+ * Recording does not allocate, values above {@link #MAX_TRACKABLE_NANOS} are recorded as the maximum trackable value.
+ */
+public class LatencyHistogram {
+  static final int SUB_BUCKET_BITS = 4;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+
+  private static final int BUCKETS = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  public void record(final long nanos) {
+    final var value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+    counts.incrementAndGet(indexOf(value));
+    count.increment();
+    sum.add(value);
+  }
+
+  public HistogramSnapshot snapshot() {
+    final var bucketCounts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      bucketCounts[i] = counts.get(i);
+      total += bucketCounts[i];
+    }
+
+    if (total == 0) {
+      return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    long max = 0;
+    for (int i = BUCKETS - 1; i >= 0; i--) {
+      if (bucketCounts[i] > 0) {
+        max = highestValueOf(i);
+        break;
+      }
+    }
+
+    return new HistogramSnapshot(
+        total,
+        (double) sum.sum() / Math.max(count.sum(), 1),
+        percentile(bucketCounts, total, 0.5),
+        percentile(bucketCounts, total, 0.9),
+        percentile(bucketCounts, total, 0.99),
+        percentile(bucketCounts, total, 0.999),
+        max);
+  }
+
+  private static long percentile(final long[] bucketCounts, final long total, final double percentile) {
+    final var rank = (long) Math.ceil(total * percentile);
+    long seen = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank) {
+        return highestValueOf(i);
+      }
+    }
+    return highestValueOf(bucketCounts.length - 1);
+  }
+
+  static int indexOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final var magnitude = 63 - Long.numberOfLeadingZeros(value);
+    final var shift = magnitude - SUB_BUCKET_BITS;
+    final var subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+  }
+
+  static long highestValueOf(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final var shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    final var subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.core.RuleIndex;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import lombok.ToString;
+
+/**
+ * Collects per rule condition and action latency histograms and outcome counters, as well as whole evaluation latencies.
+ * Metrics are kept only for the rules known when the listener was created, other rules are forwarded without being measured.
+ */
+@ToString(callSuper = true, onlyExplicitlyIncluded = true)
+public class RuleMetricsListener extends ForwardingRuleEngineListener {
+  public static final String DOMAIN = "com.github.alturkovic.rule.engine";
+
+  private static final int CONDITION_START = 0;
+  private static final int ACTION_START = 1;
+  private static final int EVALUATION_START = 2;
+
+  private final RuleIndex index;
+  private final RuleMetrics[] metrics;
+  private final LatencyHistogram evaluationLatency = new LatencyHistogram();
+  private final ThreadLocal<long[]> startTimes = ThreadLocal.withInitial(() -> new long[3]);
+
+  public RuleMetricsListener(final Rules rules) {
+    this(RuleEngineListener.NO_OP, rules);
+  }
+
+  public RuleMetricsListener(final RuleEngineListener delegate, final Rules rules) {
+    super(delegate);
+    this.index = new RuleIndex(rules);
+    this.metrics = new RuleMetrics[index.size()];
+    for (int i = 0; i < metrics.length; i++) {
+      metrics[i] = new RuleMetrics();
+    }
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    startTimes.get()[EVALUATION_START] = System.nanoTime();
+    super.beforeEvaluation(facts);
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    evaluationLatency.record(System.nanoTime() - startTimes.get()[EVALUATION_START]);
+    super.afterEvaluation(facts);
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    super.beforeCondition(rule, facts);
+    startTimes.get()[CONDITION_START] = System.nanoTime();
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    final var elapsed = System.nanoTime() - startTimes.get()[CONDITION_START];
+    final var ruleMetrics = metricsOf(rule);
+    if (ruleMetrics != null) {
+      ruleMetrics.conditionLatency.record(elapsed);
+      (accepted ? ruleMetrics.accepted : ruleMetrics.rejected).increment();
+    }
+    super.afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    final var elapsed = System.nanoTime() - startTimes.get()[CONDITION_START];
+    final var ruleMetrics = metricsOf(rule);
+    if (ruleMetrics != null) {
+      ruleMetrics.conditionLatency.record(elapsed);
+      ruleMetrics.conditionErrors.increment();
+    }
+    super.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    super.beforeAction(rule, facts);
+    startTimes.get()[ACTION_START] = System.nanoTime();
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    final var elapsed = System.nanoTime() - startTimes.get()[ACTION_START];
+    final var ruleMetrics = metricsOf(rule);
+    if (ruleMetrics != null) {
+      ruleMetrics.actionLatency.record(elapsed);
+    }
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    final var elapsed = System.nanoTime() - startTimes.get()[ACTION_START];
+    final var ruleMetrics = metricsOf(rule);
+    if (ruleMetrics != null) {
+      ruleMetrics.actionLatency.record(elapsed);
+      ruleMetrics.actionErrors.increment();
+    }
+    super.onActionError(rule, facts, e);
+  }
+
+  public RuleMetricsSnapshot getMetrics(final Rule rule) {
+    final var id = index.idOf(rule);
+    if (id < 0) {
+      throw new IllegalArgumentException(String.format("Rule '%s' is not measured by this listener", rule));
+    }
+    return snapshot(id);
+  }
+
+  public List<RuleMetricsSnapshot> getMetrics() {
+    final var snapshots = new ArrayList<RuleMetricsSnapshot>(metrics.length);
+    for (int i = 0; i < metrics.length; i++) {
+      snapshots.add(snapshot(i));
+    }
+    return snapshots;
+  }
+
+  public HistogramSnapshot getEvaluationLatency() {
+    return evaluationLatency.snapshot();
+  }
+
+  /**
+   * Registers an {@link EvaluationMetricsMXBean} and a {@link RuleMetricsMXBean} per rule under the {@link #DOMAIN} domain,
+   * using the given engine name to distinguish multiple engines.
+   */
+  public List<ObjectName> registerMBeans(final MBeanServer server, final String engineName) throws JMException {
+    final var names = new ArrayList<ObjectName>(metrics.length + 1);
+    try {
+      final var engine = ObjectName.quote(engineName);
+      final var evaluationName = new ObjectName(DOMAIN + ":type=EvaluationMetrics,engine=" + engine);
+      server.registerMBean(new StandardMBean((EvaluationMetricsMXBean) this::getEvaluationLatency, EvaluationMetricsMXBean.class, true), evaluationName);
+      names.add(evaluationName);
+
+      for (int i = 0; i < metrics.length; i++) {
+        final var id = i;
+        final var ruleName = new ObjectName(DOMAIN + ":type=RuleMetrics,engine=" + engine + ",rule=" + ObjectName.quote(index.get(i).getName()));
+        server.registerMBean(new StandardMBean((RuleMetricsMXBean) () -> snapshot(id), RuleMetricsMXBean.class, true), ruleName);
+        names.add(ruleName);
+      }
+      return names;
+    } catch (final InstanceAlreadyExistsException e) {
+      unregisterMBeans(server, names);
+      throw e;
+    }
+  }
+
+  public static void unregisterMBeans(final MBeanServer server, final List<ObjectName> names) throws JMException {
+    for (final var name : names) {
+      try {
+        server.unregisterMBean(name);
+      } catch (final InstanceNotFoundException ignored) {
+        // already unregistered
+      }
+    }
+  }
+
+  private RuleMetrics metricsOf(final Rule rule) {
+    final var id = index.idOf(rule);
+    return id < 0 ? null : metrics[id];
+  }
+
+  private RuleMetricsSnapshot snapshot(final int id) {
+    final var ruleMetrics = metrics[id];
+    return new RuleMetricsSnapshot(
+        index.get(id).getName(),
+        ruleMetrics.accepted.sum(),
+        ruleMetrics.rejected.sum(),
+        ruleMetrics.conditionErrors.sum(),
+        ruleMetrics.actionErrors.sum(),
+        ruleMetrics.conditionLatency.snapshot(),
+        ruleMetrics.actionLatency.snapshot());
+  }
+
+  private static class RuleMetrics {
+    private final LatencyHistogram conditionLatency = new LatencyHistogram();
+    private final LatencyHistogram actionLatency = new LatencyHistogram();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder conditionErrors = new LongAdder();
+    private final LongAdder actionErrors = new LongAdder();
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import java.beans.ConstructorProperties;
+import lombok.Value;
+
+/**
+ * Point in time view of the metrics of a single rule.
+ */
+@Value
+public class RuleMetricsSnapshot {
+  String ruleName;
+  long accepted;
+  long rejected;
+  long conditionErrors;
+  long actionErrors;
+  HistogramSnapshot conditionLatency;
+  HistogramSnapshot actionLatency;
+
+  @ConstructorProperties({"ruleName", "accepted", "rejected", "conditionErrors", "actionErrors", "conditionLatency", "actionLatency"})
+  public RuleMetricsSnapshot(final String ruleName, final long accepted, final long rejected, final long conditionErrors,
+                             final long actionErrors, final HistogramSnapshot conditionLatency, final HistogramSnapshot actionLatency) {
+    this.ruleName = ruleName;
+    this.accepted = accepted;
+    this.rejected = rejected;
+    this.conditionErrors = conditionErrors;
+    this.actionErrors = actionErrors;
+    this.conditionLatency = conditionLatency;
+    this.actionLatency = actionLatency;
+  }
+}
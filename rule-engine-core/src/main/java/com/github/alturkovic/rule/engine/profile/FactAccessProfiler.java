@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.profile;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.ToString;
+
+/**
+ * Records which facts each rule reads, how often, and who copies all facts using {@link Facts#asMap()}.
+ * Register the profiler as the engine listener and evaluate {@link #wrap(Facts) wrapped facts}, or use {@link #profile(RuleEngine)}.
+ * Accesses made outside of rule conditions and actions are attributed to {@link #UNATTRIBUTED}.
+ */
+@ToString(callSuper = true, onlyExplicitlyIncluded = true)
+public class FactAccessProfiler extends ForwardingRuleEngineListener {
+  public static final String UNATTRIBUTED = "<no rule>";
+
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private final Map<String, RuleAccess> rules = new ConcurrentHashMap<>();
+  private final ThreadLocal<Rule> currentRule = new ThreadLocal<>();
+
+  public FactAccessProfiler() {
+    this(RuleEngineListener.NO_OP);
+  }
+
+  public FactAccessProfiler(final RuleEngineListener delegate) {
+    super(delegate);
+  }
+
+  public Facts wrap(final Facts facts) {
+    return new ProfilingFacts(facts, this);
+  }
+
+  /**
+   * Wraps the facts before passing them to the given engine, which must use this profiler as its listener.
+   */
+  public RuleEngine profile(final RuleEngine engine) {
+    return facts -> engine.evaluate(wrap(facts));
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    currentRule.set(rule);
+    super.beforeCondition(rule, facts);
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    currentRule.remove();
+    super.afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    currentRule.remove();
+    super.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    currentRule.set(rule);
+    super.beforeAction(rule, facts);
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    currentRule.remove();
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    currentRule.remove();
+    super.onActionError(rule, facts, e);
+  }
+
+  /**
+   * Snapshot of the accesses recorded so far by rule name.
+   */
+  public Map<String, RuleFactAccess> getReport() {
+    final var report = new TreeMap<String, RuleFactAccess>();
+    rules.forEach((name, access) -> report.put(name, access.snapshot(name)));
+    return report;
+  }
+
+  public void reset() {
+    rules.clear();
+  }
+
+  void recordGet(final String fact) {
+    current().fact(fact).gets.increment();
+  }
+
+  void recordDeclaredCheck(final String fact) {
+    current().fact(fact).declaredChecks.increment();
+  }
+
+  void recordAsMap() {
+    final var caller = STACK_WALKER.walk(frames -> frames
+        .dropWhile(f -> f.getDeclaringClass() == FactAccessProfiler.class || f.getDeclaringClass() == ProfilingFacts.class)
+        .findFirst()
+        .map(f -> f.getClassName() + "#" + f.getMethodName())
+        .orElse("unknown"));
+    current().asMapCallers.computeIfAbsent(caller, c -> new LongAdder()).increment();
+  }
+
+  private RuleAccess current() {
+    final var rule = currentRule.get();
+    return rules.computeIfAbsent(rule == null ? UNATTRIBUTED : rule.getName(), r -> new RuleAccess());
+  }
+
+  private static class RuleAccess {
+    private final Map<String, FactCounters> facts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> asMapCallers = new ConcurrentHashMap<>();
+
+    private FactCounters fact(final String name) {
+      return facts.computeIfAbsent(name, n -> new FactCounters());
+    }
+
+    private RuleFactAccess snapshot(final String ruleName) {
+      final var factCounts = new TreeMap<String, FactAccessCount>();
+      facts.forEach((name, counters) -> factCounts.put(name, new FactAccessCount(counters.gets.sum(), counters.declaredChecks.sum())));
+      final var callers = new TreeMap<String, Long>();
+      asMapCallers.forEach((caller, count) -> callers.put(caller, count.sum()));
+      return new RuleFactAccess(ruleName, factCounts, callers);
+    }
+  }
+
+  private static class FactCounters {
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder declaredChecks = new LongAdder();
+  }
+}
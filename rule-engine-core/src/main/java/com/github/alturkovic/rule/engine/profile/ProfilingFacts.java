@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.profile;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Reports every access to the wrapped facts to the {@link FactAccessProfiler}.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+class ProfilingFacts implements Facts {
+  @ToString.Include
+  @EqualsAndHashCode.Include
+  private final Facts delegate;
+  private final FactAccessProfiler profiler;
+
+  ProfilingFacts(final Facts delegate, final FactAccessProfiler profiler) {
+    this.delegate = delegate;
+    this.profiler = profiler;
+  }
+
+  @Override
+  public <T> T get(final String name) {
+    profiler.recordGet(name);
+    return delegate.get(name);
+  }
+
+  @Override
+  public boolean isDeclared(final String name) {
+    profiler.recordDeclaredCheck(name);
+    return delegate.isDeclared(name);
+  }
+
+  @Override
+  public Map<String, Object> asMap() {
+    profiler.recordAsMap();
+    return delegate.asMap();
+  }
+}
@@ -29,6 +29,7 @@ import com.github.alturkovic.rule.engine.api.Rule;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A proxy around an annotation based POJO rule.
@@ -52,6 +53,16 @@ public class RuleProxy implements InvocationHandler {
         return invoker.description();
       case "getPriority":
         return invoker.priority();
+      case "getInputs":
+        return invoker.inputs();
+      case "getOutputs":
+        return invoker.outputs();
+      case "isAsyncAction":
+        return invoker.asyncAction();
+      case "isAsyncCondition":
+        return false;
+      case "acceptAsync":
+        return CompletableFuture.completedFuture(invoker.when((Facts) args[0]));
       case "accept":
         return invoker.when((Facts) args[0]);
       case "execute":
@@ -25,15 +25,21 @@
 package com.github.alturkovic.rule.engine.proxy;
 
 import com.github.alturkovic.rule.engine.aop.Description;
+import com.github.alturkovic.rule.engine.aop.Given;
 import com.github.alturkovic.rule.engine.aop.Name;
+import com.github.alturkovic.rule.engine.aop.Outputs;
 import com.github.alturkovic.rule.engine.aop.Priority;
 import com.github.alturkovic.rule.engine.aop.Rule;
 import com.github.alturkovic.rule.engine.aop.Then;
 import com.github.alturkovic.rule.engine.aop.When;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 
@@ -51,6 +57,8 @@ class RuleProxyDefinition {
   private List<Method> thenMethods;
   private Method compareToMethod;
   private Method toStringMethod;
+  private Optional<Set<String>> inputs;
+  private Optional<Set<String>> outputs;
 
   public String getName() {
     if (name == null) {
@@ -74,6 +82,24 @@ class RuleProxyDefinition {
     return getAnnotation().priority();
   }
 
+  /**
+   * Names of all {@link Given} facts, or {@code null} if any method receives all facts.
+   */
+  public Set<String> getInputs() {
+    if (inputs == null) {
+      inputs = Optional.ofNullable(collectGivenFacts());
+    }
+    return inputs.orElse(null);
+  }
+
+  public Set<String> getOutputs() {
+    if (outputs == null) {
+      outputs = Optional.ofNullable(targetClass.getAnnotation(Outputs.class))
+          .map(o -> Set.copyOf(List.of(o.value())));
+    }
+    return outputs.orElse(null);
+  }
+
   private Rule getAnnotation() {
     if (annotation == null) {
       annotation = targetClass.getAnnotation(com.github.alturkovic.rule.engine.aop.Rule.class);
@@ -131,6 +157,10 @@ class RuleProxyDefinition {
     return thenMethods;
   }
 
+  public boolean isAsyncAction() {
+    return getThenMethods().get(0).getAnnotation(Then.class).async();
+  }
+
   public Method getCompareToMethod() {
     if (compareToMethod == null) {
       compareToMethod = getNamedMethod("compareTo");
@@ -159,6 +189,22 @@ class RuleProxyDefinition {
         .orElse(null);
   }
 
+  private Set<String> collectGivenFacts() {
+    final var facts = new LinkedHashSet<String>();
+    final var factMethods = new ArrayList<>(getThenMethods());
+    factMethods.add(getWhenMethod());
+    for (final var method : factMethods) {
+      for (final var parameter : method.getParameters()) {
+        final var given = parameter.getAnnotation(Given.class);
+        if (given == null) {
+          return null;
+        }
+        facts.add(given.value());
+      }
+    }
+    return Collections.unmodifiableSet(facts);
+  }
+
   private String buildDefaultDescription() {
     final var description = new StringBuilder("When ");
     description.append(getWhenMethod().getName());
@@ -31,6 +31,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.Set;
 
 class RuleProxyMethodInvoker {
   private final Object target;
@@ -65,6 +66,18 @@ class RuleProxyMethodInvoker {
     return definition.getPriority();
   }
 
+  public Set<String> inputs() {
+    return definition.getInputs();
+  }
+
+  public Set<String> outputs() {
+    return definition.getOutputs();
+  }
+
+  public boolean asyncAction() {
+    return definition.isAsyncAction();
+  }
+
   public boolean when(final Facts facts) {
     final var whenMethod = definition.getWhenMethod();
     try {
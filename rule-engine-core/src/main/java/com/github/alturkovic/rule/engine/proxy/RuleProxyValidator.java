@@ -78,6 +78,14 @@ class RuleProxyValidator {
         throw new IllegalArgumentException(format("@Then method '%s' in rule '%s' must be public with @Given or Facts parameters", thenMethod, rule.getClass().getName()));
       }
     }
+
+    final var executionModes = thenMethods.stream()
+        .map(m -> m.getAnnotation(Then.class).async())
+        .distinct()
+        .count();
+    if (executionModes > 1) {
+      throw new IllegalArgumentException(format("Rule '%s' cannot mix synchronous and asynchronous '@Then' methods", rule.getClass().getName()));
+    }
   }
 
   private static void checkIfRuleMethodsAreWellDefined(final Object rule) {
@@ -27,6 +27,7 @@ package com.github.alturkovic.rule.engine.reader;
 import com.github.alturkovic.rule.engine.api.Rule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import lombok.Data;
 
 @Data
@@ -36,8 +37,11 @@ public class RuleDefinition {
   private int priority = Rule.DEFAULT_PRIORITY;
   private String when;
   private List<String> then = new ArrayList<>();
+  private Set<String> inputs;
+  private Set<String> outputs;
 
   private String type;
+  private boolean adaptive;
   private List<RuleDefinition> rules = new ArrayList<>();
 
   public boolean isComposite() {
@@ -77,6 +77,7 @@ public abstract class RulesFactory {
         .description(ruleDefinition.getDescription())
         .priority(ruleDefinition.getPriority())
         .rules(asRules(ruleDefinition.getRules()))
+        .adaptive(ruleDefinition.isAdaptive())
         .build();
   }
 
@@ -86,6 +87,7 @@ public abstract class RulesFactory {
         .description(ruleDefinition.getDescription())
         .priority(ruleDefinition.getPriority())
         .rules(asRules(ruleDefinition.getRules()))
+        .adaptive(ruleDefinition.isAdaptive())
         .build();
   }
 }
@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.scoring;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.core.RuleErrorLog;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Singular;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_CONDITION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.BEFORE_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.ON_CONDITION_ERROR;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_SKIP_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_AFTER_EVALUATION;
+import static com.github.alturkovic.rule.engine.api.ListenerHook.SHOULD_STOP_BEFORE_EVALUATION;
+
+/**
+ * Adds up the weights of rules whose conditions accept the facts and compares the total with a threshold, actions are never executed.
+ * Rules are checked from the largest absolute weight down, and checking stops as soon as the weights of the remaining rules
+ * can no longer change whether the threshold is passed. Listeners can also stop the checking before or after any rule,
+ * rules left unchecked are reported by the result.
+ */
+@Slf4j
+@ToString
+@EqualsAndHashCode
+public class ScoringRuleEngine {
+  private final RuleEngineListener listener;
+  private final Map<Rule, Double> rules;
+  private final double threshold;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Rule[] byMagnitude;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final double[] weights;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final double[] remainingPositive;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final double[] remainingNegative;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final Rule[] byWeight;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private final boolean[] hooks;
+
+  @Builder
+  public ScoringRuleEngine(final RuleEngineListener listener, @Singular final Map<Rule, Double> rules, final double threshold) {
+    this.listener = listener == null ? RuleEngineListener.NO_OP : listener;
+    this.rules = rules;
+    this.threshold = threshold;
+    this.hooks = ListenerHook.handledBy(this.listener);
+
+    final var sorted = new ArrayList<>(rules.entrySet());
+    sorted.sort(Comparator.<Map.Entry<Rule, Double>>comparingDouble(e -> -Math.abs(e.getValue()))
+        .thenComparing(Map.Entry::getKey));
+
+    final var size = sorted.size();
+    this.byMagnitude = new Rule[size];
+    this.weights = new double[size];
+    this.remainingPositive = new double[size + 1];
+    this.remainingNegative = new double[size + 1];
+    for (int i = 0; i < size; i++) {
+      byMagnitude[i] = sorted.get(i).getKey();
+      weights[i] = sorted.get(i).getValue();
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      remainingPositive[i] = remainingPositive[i + 1] + Math.max(weights[i], 0);
+      remainingNegative[i] = remainingNegative[i + 1] + Math.min(weights[i], 0);
+    }
+
+    sorted.sort(Comparator.<Map.Entry<Rule, Double>>comparingDouble(e -> -e.getValue()).thenComparing(Map.Entry::getKey));
+    this.byWeight = sorted.stream()
+        .map(Map.Entry::getKey)
+        .toArray(Rule[]::new);
+  }
+
+  /**
+   * Scores the facts, checking only as many rules as needed to decide whether the threshold is passed.
+   */
+  public ScoringResult score(final Facts facts) {
+    return evaluate(facts, true);
+  }
+
+  /**
+   * Scores the facts by checking every rule, the score is always exact.
+   */
+  public ScoringResult scoreFully(final Facts facts) {
+    return evaluate(facts, false);
+  }
+
+  /**
+   * Up to {@code k} accepted rules with the highest weights, highest first, checking rules only until {@code k} matches are found.
+   */
+  public List<Rule> topMatches(final Facts facts, final int k) {
+    final var matches = new ArrayList<Rule>(k);
+    if (k <= 0) {
+      return matches;
+    }
+
+    notifyBeforeEvaluation(facts);
+    try {
+      for (final var rule : byWeight) {
+        if (shouldStopBefore(rule, facts)) {
+          break;
+        }
+
+        final var accepted = isAccepted(facts, rule);
+        if (accepted) {
+          matches.add(rule);
+          if (matches.size() == k) {
+            break;
+          }
+        }
+
+        if (shouldStopAfter(rule, facts, accepted)) {
+          break;
+        }
+      }
+    } finally {
+      notifyAfterEvaluation(facts);
+    }
+    return matches;
+  }
+
+  private ScoringResult evaluate(final Facts facts, final boolean prune) {
+    final var matched = new ArrayList<Rule>();
+    var score = 0.0;
+    var evaluated = 0;
+
+    notifyBeforeEvaluation(facts);
+    try {
+      for (; evaluated < byMagnitude.length; evaluated++) {
+        if (prune && isDecided(score, evaluated)) {
+          log.debug("Score {} decided with {} rules left unchecked", score, byMagnitude.length - evaluated);
+          break;
+        }
+
+        final var rule = byMagnitude[evaluated];
+        if (shouldStopBefore(rule, facts)) {
+          break;
+        }
+
+        final var accepted = isAccepted(facts, rule);
+        if (accepted) {
+          matched.add(rule);
+          score += weights[evaluated];
+        }
+
+        if (shouldStopAfter(rule, facts, accepted)) {
+          evaluated++;
+          break;
+        }
+      }
+    } finally {
+      notifyAfterEvaluation(facts);
+    }
+
+    return new ScoringResult(score, score >= threshold, matched, evaluated, byMagnitude.length - evaluated);
+  }
+
+  private boolean isDecided(final double score, final int next) {
+    return score + remainingNegative[next] >= threshold || score + remainingPositive[next] < threshold;
+  }
+
+  private boolean shouldStopBefore(final Rule rule, final Facts facts) {
+    if (hooks[SHOULD_STOP_BEFORE_EVALUATION.ordinal()] && listener.shouldStopBeforeEvaluation(rule, facts)) {
+      log.debug("Stopping further rule evaluation before '{}' was checked", rule);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean shouldStopAfter(final Rule rule, final Facts facts, final boolean accepted) {
+    if (hooks[SHOULD_STOP_AFTER_EVALUATION.ordinal()] && listener.shouldStopAfterEvaluation(rule, facts, accepted, null)) {
+      log.debug("Stopping further rule evaluation after '{}' was checked", rule);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean isAccepted(final Facts facts, final Rule rule) {
+    if (hooks[SHOULD_SKIP_EVALUATION.ordinal()] && listener.shouldSkipEvaluation(rule, facts)) {
+      log.debug("Skipping evaluation of rule '{}'", rule);
+      return false;
+    }
+
+    try {
+      if (hooks[BEFORE_CONDITION.ordinal()]) {
+        listener.beforeCondition(rule, facts);
+      }
+      final var accepted = rule.accept(facts);
+      if (hooks[AFTER_CONDITION.ordinal()]) {
+        listener.afterCondition(rule, facts, accepted);
+      }
+      return accepted;
+    } catch (final Exception e) {
+      RuleErrorLog.ALWAYS.error(log, rule, "failed condition check", facts, e);
+      if (hooks[ON_CONDITION_ERROR.ordinal()]) {
+        listener.onConditionError(rule, facts, e);
+      }
+      return false;
+    }
+  }
+
+  private void notifyBeforeEvaluation(final Facts facts) {
+    if (hooks[BEFORE_EVALUATION.ordinal()]) {
+      listener.beforeEvaluation(facts);
+    }
+  }
+
+  private void notifyAfterEvaluation(final Facts facts) {
+    if (hooks[AFTER_EVALUATION.ordinal()]) {
+      listener.afterEvaluation(facts);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.trace;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Appends traces to a local file, one evaluation line followed by an indented line per evaluated rule.
+ */
+public class TraceFileSink implements Consumer<EvaluationTrace>, Closeable {
+  private final BufferedWriter writer;
+
+  public TraceFileSink(final Path file) throws IOException {
+    this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public synchronized void accept(final EvaluationTrace trace) {
+    try {
+      writer.write(String.format("evaluation=%d thread=%s start=%s duration=%dns rules=%d%n",
+          trace.getEvaluationId(), trace.getThreadName(), Instant.ofEpochMilli(trace.getStartEpochMillis()),
+          trace.getDurationNanos(), trace.getRules().size()));
+      for (final var rule : trace.getRules()) {
+        writer.write(String.format("  rule=%s priority=%d accepted=%b condition=%dns", rule.getRuleName(), rule.getPriority(),
+            rule.isAccepted(), rule.getConditionNanos()));
+        if (rule.isExecuted()) {
+          writer.write(String.format(" action=%dns", rule.getActionNanos()));
+        }
+        if (rule.getError() != null) {
+          writer.write(String.format(" error=%s: %s", rule.getError().getClass().getName(), rule.getError().getMessage()));
+        }
+        writer.newLine();
+      }
+      writer.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    writer.close();
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.trace;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import com.github.alturkovic.rule.engine.util.RingBuffer;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records full rule traces for one in every {@code sampleRate} evaluations of each thread.
+ * Finished traces are published to a preallocated ring buffer which a background thread drains to the sink, traces are dropped when the buffer is full.
+ * Rule events of unsampled evaluations only check a shared counter of evaluations being traced.
+ * Actions run by an {@link com.github.alturkovic.rule.engine.core.AsyncActionExecutor} complete outside of their evaluation and are not traced.
+ */
+@Slf4j
+@ToString(callSuper = true, onlyExplicitlyIncluded = true)
+public class TracingRuleEngineListener extends ForwardingRuleEngineListener implements Closeable {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @ToString.Include
+  private final int sampleRate;
+  private final RingBuffer<EvaluationTrace> buffer;
+  private final Consumer<EvaluationTrace> sink;
+  private final ThreadLocal<TraceState> state;
+  private final AtomicInteger tracing = new AtomicInteger();
+  private final AtomicLong evaluationIds = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread drainer;
+  private volatile boolean running = true;
+
+  public TracingRuleEngineListener(final int sampleRate, final int bufferCapacity, final Consumer<EvaluationTrace> sink) {
+    this(RuleEngineListener.NO_OP, sampleRate, bufferCapacity, sink);
+  }
+
+  public TracingRuleEngineListener(final RuleEngineListener delegate, final int sampleRate, final int bufferCapacity, final Consumer<EvaluationTrace> sink) {
+    super(delegate);
+    if (sampleRate < 1) {
+      throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+    }
+
+    this.sampleRate = sampleRate;
+    this.buffer = new RingBuffer<>(bufferCapacity);
+    this.sink = sink;
+    this.state = ThreadLocal.withInitial(() -> new TraceState(sampleRate));
+    this.drainer = new Thread(this::drain, "rule-engine-trace-drainer");
+    this.drainer.setDaemon(true);
+    this.drainer.start();
+  }
+
+  @Override
+  public void beforeEvaluation(final Facts facts) {
+    final var current = state.get();
+    if (--current.countdown == 0) {
+      current.countdown = sampleRate;
+      current.start(evaluationIds.incrementAndGet());
+      tracing.incrementAndGet();
+    }
+    super.beforeEvaluation(facts);
+  }
+
+  @Override
+  public void afterEvaluation(final Facts facts) {
+    super.afterEvaluation(facts);
+    final var current = traced();
+    if (current != null) {
+      tracing.decrementAndGet();
+      if (!buffer.offer(current.finish())) {
+        dropped.increment();
+      }
+    }
+  }
+
+  @Override
+  public void beforeCondition(final Rule rule, final Facts facts) {
+    super.beforeCondition(rule, facts);
+    final var current = traced();
+    if (current != null) {
+      current.startRule(rule);
+    }
+  }
+
+  @Override
+  public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+    final var current = traced();
+    if (current != null) {
+      current.conditionFinished(accepted, null);
+    }
+    super.afterCondition(rule, facts, accepted);
+  }
+
+  @Override
+  public void onConditionError(final Rule rule, final Facts facts, final Exception e) {
+    final var current = traced();
+    if (current != null) {
+      current.conditionFinished(false, e);
+    }
+    super.onConditionError(rule, facts, e);
+  }
+
+  @Override
+  public void beforeAction(final Rule rule, final Facts facts) {
+    super.beforeAction(rule, facts);
+    final var current = traced();
+    if (current != null) {
+      current.startAction();
+    }
+  }
+
+  @Override
+  public void afterAction(final Rule rule, final Facts facts) {
+    final var current = traced();
+    if (current != null) {
+      current.actionFinished(null);
+    }
+    super.afterAction(rule, facts);
+  }
+
+  @Override
+  public void onActionError(final Rule rule, final Facts facts, final Exception e) {
+    final var current = traced();
+    if (current != null) {
+      current.actionFinished(e);
+    }
+    super.onActionError(rule, facts, e);
+  }
+
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops the background thread after it delivers all traces published so far.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(drainer);
+    try {
+      drainer.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private TraceState traced() {
+    if (tracing.get() == 0) {
+      return null;
+    }
+    final var current = state.get();
+    return current.rules == null ? null : current;
+  }
+
+  private void drain() {
+    while (running) {
+      if (!deliverAll()) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+      }
+    }
+    deliverAll();
+  }
+
+  private boolean deliverAll() {
+    var delivered = false;
+    EvaluationTrace trace;
+    while ((trace = buffer.poll()) != null) {
+      delivered = true;
+      try {
+        sink.accept(trace);
+      } catch (final Exception e) {
+        log.error("Trace sink failed to accept trace of evaluation {}", trace.getEvaluationId(), e);
+      }
+    }
+    return delivered;
+  }
+
+  private static class TraceState {
+    private int countdown;
+    private long evaluationId;
+    private long startEpochMillis;
+    private long startNanos;
+    private List<RuleTrace> rules;
+
+    private Rule rule;
+    private long ruleStartNanos;
+    private boolean accepted;
+    private long conditionNanos;
+    private long actionStartNanos;
+
+    private TraceState(final int countdown) {
+      this.countdown = countdown;
+    }
+
+    private void start(final long evaluationId) {
+      this.evaluationId = evaluationId;
+      this.startEpochMillis = System.currentTimeMillis();
+      this.startNanos = System.nanoTime();
+      this.rules = new ArrayList<>();
+    }
+
+    private void startRule(final Rule rule) {
+      this.rule = rule;
+      this.ruleStartNanos = System.nanoTime();
+    }
+
+    private void conditionFinished(final boolean accepted, final Exception error) {
+      this.conditionNanos = System.nanoTime() - ruleStartNanos;
+      this.accepted = accepted;
+      if (!accepted) {
+        addRule(false, -1, error);
+      }
+    }
+
+    private void startAction() {
+      this.actionStartNanos = System.nanoTime();
+    }
+
+    private void actionFinished(final Exception error) {
+      addRule(true, System.nanoTime() - actionStartNanos, error);
+    }
+
+    private void addRule(final boolean executed, final long actionNanos, final Exception error) {
+      rules.add(new RuleTrace(rule.getName(), rule.getPriority(), accepted, conditionNanos, executed, actionNanos, error));
+      this.rule = null;
+    }
+
+    private EvaluationTrace finish() {
+      final var trace = new EvaluationTrace(evaluationId, Thread.currentThread().getName(), startEpochMillis,
+          System.nanoTime() - startNanos, List.copyOf(rules));
+      this.rules = null;
+      return trace;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer multi-consumer queue backed by preallocated slots.
+ * Each slot carries a sequence number telling producers and consumers whose turn it is, so neither side ever blocks.
+ */
+public class RingBuffer<T> {
+  private final int mask;
+  private final AtomicReferenceArray<T> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  public RingBuffer(final int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+    }
+
+    // a single slot cannot tell a filled slot apart from one free for the next lap, so at least two are used
+    final var size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    this.mask = size - 1;
+    this.elements = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds the element if there is room for it.
+   *
+   * @return {@code false} if the buffer is full
+   */
+  public boolean offer(final T element) {
+    if (element == null) {
+      throw new NullPointerException("Ring buffer does not accept null elements");
+    }
+
+    while (true) {
+      final var position = tail.get();
+      final var index = (int) position & mask;
+      final var difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest element.
+   *
+   * @return {@code null} if the buffer is empty
+   */
+  public T poll() {
+    while (true) {
+      final var position = head.get();
+      final var index = (int) position & mask;
+      final var difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final var element = elements.get(index);
+          elements.lazySet(index, null);
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+      } else if (difference < 0) {
+        return null;
+      }
+    }
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Approximate number of elements, exact only while no other thread is using the buffer.
+   */
+  public int size() {
+    return (int) Math.max(0, Math.min(tail.get() - head.get(), capacity()));
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+}
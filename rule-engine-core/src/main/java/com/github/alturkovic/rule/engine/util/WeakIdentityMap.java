@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.alturkovic.rule.engine.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent map comparing keys by identity and holding them weakly, entries are dropped once their key is garbage collected.
+ * Unlike a synchronized {@link java.util.WeakHashMap}, neither locks nor calls {@code hashCode} or {@code equals} of keys.
+ */
+public class WeakIdentityMap<K, V> {
+  private final ConcurrentMap<IdentityReference<K>, V> entries = new ConcurrentHashMap<>();
+  private final ReferenceQueue<K> collected = new ReferenceQueue<>();
+
+  public V get(final K key) {
+    return entries.get(new IdentityReference<>(key, null));
+  }
+
+  /**
+   * Maps the key to the value, a {@code null} value removes the mapping.
+   */
+  public V put(final K key, final V value) {
+    if (value == null) {
+      return remove(key);
+    }
+    expunge();
+    return entries.put(new IdentityReference<>(key, collected), value);
+  }
+
+  public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mapping) {
+    final var existing = get(key);
+    if (existing != null) {
+      return existing;
+    }
+    expunge();
+    return entries.computeIfAbsent(new IdentityReference<>(key, collected), reference -> mapping.apply(key));
+  }
+
+  public V remove(final K key) {
+    expunge();
+    return entries.remove(new IdentityReference<>(key, null));
+  }
+
+  private void expunge() {
+    for (var reference = collected.poll(); reference != null; reference = collected.poll()) {
+      entries.remove(reference);
+    }
+  }
+
+  private static class IdentityReference<K> extends WeakReference<K> {
+    private final int hash;
+
+    IdentityReference(final K key, final ReferenceQueue<K> queue) {
+      super(key, queue);
+      this.hash = System.identityHashCode(key);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof IdentityReference)) {
+        return false;
+      }
+      final var key = get();
+      return key != null && key == ((IdentityReference<?>) o).get();
+    }
+  }
+}
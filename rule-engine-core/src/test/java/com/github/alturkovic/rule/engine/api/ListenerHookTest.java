@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.api;
+
+import com.github.alturkovic.rule.engine.listener.ForwardingRuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.PriorityThresholdListener;
+import com.github.alturkovic.rule.engine.listener.SkipAfterAcceptedRuleListener;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListenerHookTest {
+
+  @Test
+  void shouldDetectNoHooksOnNoOpListener() {
+    assertThat(ListenerHook.of(RuleEngineListener.NO_OP)).isEmpty();
+  }
+
+  @Test
+  void shouldDetectOverriddenHooks() {
+    assertThat(ListenerHook.of(new PriorityThresholdListener(1))).containsExactly(ListenerHook.SHOULD_STOP_BEFORE_EVALUATION);
+    assertThat(ListenerHook.of(new SkipAfterAcceptedRuleListener())).containsExactly(ListenerHook.SHOULD_STOP_AFTER_EVALUATION);
+  }
+
+  @Test
+  void shouldCombineForwardedAndOverriddenHooks() {
+    final var listener = new ForwardingRuleEngineListener(new SkipAfterAcceptedRuleListener()) {
+      @Override
+      public void afterAction(final Rule rule, final Facts facts) {
+      }
+    };
+
+    assertThat(ListenerHook.of(listener)).containsExactlyInAnyOrder(ListenerHook.SHOULD_STOP_AFTER_EVALUATION, ListenerHook.AFTER_ACTION);
+  }
+
+  @Test
+  void shouldUseDeclaredHooks() {
+    final var listener = new HookDeclaringListener() {
+      @Override
+      public Set<ListenerHook> getHooks() {
+        return Set.of(ListenerHook.BEFORE_ACTION);
+      }
+    };
+
+    assertThat(ListenerHook.of(listener)).containsExactly(ListenerHook.BEFORE_ACTION);
+  }
+
+  @Test
+  void shouldIndexHandledHooksByOrdinal() {
+    final var handled = ListenerHook.handledBy(new PriorityThresholdListener(1));
+
+    assertThat(handled).hasSize(ListenerHook.values().length);
+    for (final var hook : ListenerHook.values()) {
+      assertThat(handled[hook.ordinal()]).isEqualTo(hook == ListenerHook.SHOULD_STOP_BEFORE_EVALUATION);
+    }
+  }
+}
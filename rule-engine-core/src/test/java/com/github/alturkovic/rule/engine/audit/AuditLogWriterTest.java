@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.audit;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditLogWriterTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldRejectSegmentSizeNotFittingRecords() {
+    assertThatThrownBy(() -> new AuditLogWriter(directory, 33)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldRollSegmentsWhenFull() throws Exception {
+    try (final var writer = new AuditLogWriter(directory, 2 * AuditLogWriter.RECORD_SIZE)) {
+      writer.intern("first");
+      writer.intern("second");
+      for (int i = 0; i < 5; i++) {
+        writer.append(i % 2, AuditOutcome.EXECUTED, 1000 + i, i, 42);
+      }
+    }
+
+    assertThat(AuditLogWriter.existingSegments(directory)).hasSize(3);
+    final var records = new AuditLogReader(directory).readAll();
+    assertThat(records).extracting(AuditRecord::getEvaluationId).containsExactly(0L, 1L, 2L, 3L, 4L);
+    assertThat(records).extracting(AuditRecord::getRuleName).containsExactly("first", "second", "first", "second", "first");
+    assertThat(records.get(4)).isEqualTo(new AuditRecord(0, "first", 1004, AuditOutcome.EXECUTED, 4, 42));
+  }
+
+  @Test
+  void shouldContinueAfterExistingSegments() throws Exception {
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      writer.append(0, AuditOutcome.EXECUTED, 1, 1, 0);
+    }
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      writer.append(0, AuditOutcome.FAILED, 2, 2, 0);
+    }
+
+    assertThat(AuditLogWriter.existingSegments(directory)).hasSize(2);
+    assertThat(new AuditLogReader(directory).readAll()).extracting(AuditRecord::getOutcome)
+        .containsExactly(AuditOutcome.EXECUTED, AuditOutcome.FAILED);
+  }
+
+  @Test
+  void shouldKeepRuleIdsAcrossRuns() throws Exception {
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      writer.append(writer.intern("first"), AuditOutcome.EXECUTED, 1, 1, 0);
+    }
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      assertThat(writer.intern("second")).isEqualTo(1);
+      assertThat(writer.intern("first")).isEqualTo(0);
+      writer.append(writer.intern("second"), AuditOutcome.EXECUTED, 2, 2, 0);
+    }
+
+    assertThat(new AuditLogReader(directory).readAll()).extracting(AuditRecord::getRuleName).containsExactly("first", "second");
+  }
+
+  @Test
+  void shouldContinueEvaluationIdsAcrossRuns() throws Exception {
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      writer.nextEvaluationId();
+      writer.append(0, AuditOutcome.EXECUTED, 1, writer.nextEvaluationId(), 0);
+    }
+    new AuditLogWriter(directory, 1024).close();
+
+    try (final var writer = new AuditLogWriter(directory, 1024)) {
+      assertThat(writer.nextEvaluationId()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldRejectAppendsAfterClose() throws Exception {
+    final var writer = new AuditLogWriter(directory, 1024);
+    writer.close();
+
+    assertThatThrownBy(() -> writer.append(0, AuditOutcome.EXECUTED, 1, 1, 0)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldNotLoseRecordsAppendedConcurrently() throws Exception {
+    final var threads = new ArrayList<Thread>();
+    try (final var writer = new AuditLogWriter(directory, 64 * AuditLogWriter.RECORD_SIZE)) {
+      for (int t = 0; t < 4; t++) {
+        final var thread = t;
+        threads.add(new Thread(() -> {
+          for (int i = 0; i < 1000; i++) {
+            writer.append(thread, AuditOutcome.EXECUTED, i, thread * 1000L + i, 0);
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      for (final var thread : threads) {
+        thread.join();
+      }
+    }
+
+    final var evaluationIds = new AuditLogReader(directory).readAll().stream()
+        .map(AuditRecord::getEvaluationId)
+        .collect(Collectors.toSet());
+    assertThat(evaluationIds).hasSize(4000);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.audit;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.core.AsyncActionExecutor;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRuleEngineListenerTest {
+  private final Rule accepting = newRule("accepting").priority(1).build();
+  private final Rule declining = newRule("declining").priority(2).when(f -> false).build();
+  private final Rule failing = newRule("failing").priority(3).then(f -> {
+    throw new IllegalStateException();
+  }).build();
+
+  private final SimpleOrderedRules rules = new SimpleOrderedRules(Set.of(accepting, declining, failing));
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldAuditFiredRules() throws Exception {
+    try (final var writer = new AuditLogWriter(directory, 4096)) {
+      final var listener = new AuditRuleEngineListener(RuleEngineListener.NO_OP, rules, writer,
+          facts -> ((Integer) facts.get("request")).longValue());
+      final var engine = new DefaultRuleEngine(listener, rules);
+
+      engine.evaluate(new SimpleFacts(Map.of("request", 7)));
+      engine.evaluate(new SimpleFacts(Map.of("request", 8)));
+    }
+
+    final var records = new AuditLogReader(directory).readAll();
+    assertThat(records).extracting(AuditRecord::getRuleName).containsExactly("accepting", "failing", "accepting", "failing");
+    assertThat(records).extracting(AuditRecord::getOutcome)
+        .containsExactly(AuditOutcome.EXECUTED, AuditOutcome.FAILED, AuditOutcome.EXECUTED, AuditOutcome.FAILED);
+    assertThat(records).extracting(AuditRecord::getEvaluationId).containsExactly(1L, 1L, 2L, 2L);
+    assertThat(records).extracting(AuditRecord::getFactsDigest).containsExactly(7L, 7L, 8L, 8L);
+    assertThat(records).allSatisfy(record -> assertThat(record.getTimestampMillis()).isPositive());
+  }
+
+  @Test
+  void shouldAuditAsyncActionsOutsideOfEvaluation() throws Exception {
+    final var notifying = newRule("notifying").priority(2).thenAsync(f -> { }).build();
+    final var asyncRules = new SimpleOrderedRules(Set.of(accepting, notifying));
+    try (final var writer = new AuditLogWriter(directory, 4096)) {
+      final var listener = new AuditRuleEngineListener(RuleEngineListener.NO_OP, asyncRules, writer, facts -> 7);
+      try (final var executor = new AsyncActionExecutor(1, 10)) {
+        new DefaultRuleEngine(listener, asyncRules, executor).evaluate(new SimpleFacts(Map.of()));
+      }
+    }
+
+    final var records = new AuditLogReader(directory).readAll();
+    assertThat(records).extracting(AuditRecord::getRuleName).containsExactly("accepting", "notifying");
+    assertThat(records).extracting(AuditRecord::getEvaluationId).containsExactly(1L, 0L);
+    assertThat(records).extracting(AuditRecord::getFactsDigest).containsExactly(7L, 0L);
+  }
+
+  @Test
+  void shouldKeepRuleNamesOfEarlierRuleSets() throws Exception {
+    final var replacement = newRule("replacement").priority(1).build();
+    final var replacementRules = new SimpleOrderedRules(Set.of(replacement));
+    try (final var writer = new AuditLogWriter(directory, 4096)) {
+      new DefaultRuleEngine(new AuditRuleEngineListener(rules, writer), rules).evaluate(new SimpleFacts(Map.of()));
+      new DefaultRuleEngine(new AuditRuleEngineListener(replacementRules, writer), replacementRules).evaluate(new SimpleFacts(Map.of()));
+      new DefaultRuleEngine(new AuditRuleEngineListener(rules, writer), rules).evaluate(new SimpleFacts(Map.of()));
+    }
+
+    assertThat(new AuditLogReader(directory).readAll()).extracting(AuditRecord::getRuleName)
+        .containsExactly("accepting", "failing", "replacement", "accepting", "failing");
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.batch;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SideEffectBatchTest {
+  private final List<List<String>> writes = new CopyOnWriteArrayList<>();
+
+  @Test
+  void shouldWriteOnceBatchIsFull() {
+    final var batch = new SideEffectBatch<String>(writes::add, 2);
+
+    batch.add("a");
+    assertThat(writes).isEmpty();
+    batch.add("b");
+    batch.add("c");
+
+    assertThat(writes).containsExactly(List.of("a", "b"));
+    assertThat(batch.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldWriteAfterMaxDelay() throws Exception {
+    final var written = new CountDownLatch(1);
+    final var batch = SideEffectBatch.<String>builder()
+        .sink(effects -> {
+          writes.add(effects);
+          written.countDown();
+        })
+        .maxSize(10)
+        .maxDelay(Duration.ofMillis(20))
+        .build();
+
+    try (batch) {
+      batch.add("a");
+      batch.add("b");
+
+      assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(writes).containsExactly(List.of("a", "b"));
+    }
+  }
+
+  @Test
+  void shouldWritePendingEffectsOnClose() {
+    final var batch = new SideEffectBatch<String>(writes::add, 10);
+
+    batch.add("a");
+    batch.close();
+
+    assertThat(writes).containsExactly(List.of("a"));
+    assertThrows(IllegalStateException.class, () -> batch.add("b"));
+  }
+
+  @Test
+  void shouldWriteEffectsOfAllFiredRulesOnceAfterEvaluation() {
+    final var batch = new SideEffectBatch<String>(writes::add, 100);
+    final var rules = new HashSet<Rule>();
+    for (var i = 0; i < 30; i++) {
+      final var record = "record-" + i;
+      rules.add(newRule("rule-" + i).then(batch.action((facts, effects) -> effects.accept(record))).build());
+    }
+
+    final var engine = new DefaultRuleEngine(new SideEffectFlushingListener(batch), new SimpleOrderedRules(rules));
+    engine.evaluate(SimpleFacts.builder().build());
+
+    assertThat(writes).hasSize(1);
+    assertThat(writes.get(0)).hasSize(30);
+    assertThat(batch.getPendingCount()).isZero();
+  }
+
+  @Test
+  void shouldKeepEffectsOfFailedFullBatchPending() {
+    final var time = new AtomicLong();
+    final var failing = new AtomicBoolean(true);
+    final var batch = new SideEffectBatch<String>(failingSink(failing), 2, null, 0, time::get);
+
+    batch.add("a");
+    batch.add("b");
+    assertThat(batch.getPendingCount()).isEqualTo(2);
+
+    failing.set(false);
+    time.addAndGet(SideEffectBatch.DEFAULT_RETRY_DELAY.toNanos());
+    batch.add("c");
+
+    assertThat(writes).containsExactly(List.of("a", "b"));
+    assertThat(batch.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotRetryFullBatchUntilBackOffPassed() {
+    final var time = new AtomicLong();
+    final var attempts = new AtomicInteger();
+    final var batch = new SideEffectBatch<String>(effects -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("sink is down");
+    }, 2, null, 0, time::get);
+
+    for (var i = 0; i < 10; i++) {
+      batch.add("effect-" + i);
+    }
+    assertThat(attempts).hasValue(1);
+
+    time.addAndGet(SideEffectBatch.DEFAULT_RETRY_DELAY.toNanos());
+    batch.add("retry");
+    assertThat(attempts).hasValue(2);
+
+    time.addAndGet(SideEffectBatch.DEFAULT_RETRY_DELAY.toNanos());
+    batch.add("backing-off");
+    assertThat(attempts).hasValue(2);
+  }
+
+  @Test
+  void shouldDropEffectsBeyondMaxPending() {
+    final var failing = new AtomicBoolean(true);
+    final var batch = new SideEffectBatch<String>(failingSink(failing), 2, null, 4, System::nanoTime);
+
+    for (var i = 0; i < 10; i++) {
+      batch.add("effect-" + i);
+    }
+
+    assertThat(batch.getPendingCount()).isEqualTo(4);
+    assertThat(batch.getDroppedCount()).isEqualTo(6);
+
+    failing.set(false);
+    batch.flush();
+
+    assertThat(writes).containsExactly(List.of("effect-0", "effect-1"), List.of("effect-2", "effect-3"));
+  }
+
+  @Test
+  void shouldFlushInBatchesOfMaxSize() {
+    final var failing = new AtomicBoolean(true);
+    final var batch = new SideEffectBatch<String>(failingSink(failing), 2, null, 10, System::nanoTime);
+    for (var i = 0; i < 5; i++) {
+      batch.add("effect-" + i);
+    }
+
+    failing.set(false);
+    batch.flush();
+
+    assertThat(writes).containsExactly(List.of("effect-0", "effect-1"), List.of("effect-2", "effect-3"), List.of("effect-4"));
+  }
+
+  @Test
+  void shouldKeepEffectsOfFailedFlushPending() {
+    final var failing = new AtomicBoolean(true);
+    final var batch = new SideEffectBatch<String>(effects -> {
+      if (failing.get()) {
+        throw new IllegalStateException("sink is down");
+      }
+      writes.add(effects);
+    }, 10);
+
+    batch.add("a");
+    assertThrows(IllegalStateException.class, batch::flush);
+    batch.add("b");
+
+    failing.set(false);
+    batch.flush();
+
+    assertThat(writes).containsExactly(List.of("a", "b"));
+  }
+
+  @Test
+  void shouldRetryFailedScheduledFlush() throws Exception {
+    final var attempts = new AtomicInteger();
+    final var written = new CountDownLatch(1);
+    final var batch = SideEffectBatch.<String>builder()
+        .sink(effects -> {
+          if (attempts.incrementAndGet() == 1) {
+            throw new IllegalStateException("sink is down");
+          }
+          writes.add(effects);
+          written.countDown();
+        })
+        .maxSize(10)
+        .maxDelay(Duration.ofMillis(20))
+        .build();
+
+    try (batch) {
+      batch.add("a");
+
+      assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(writes).containsExactly(List.of("a"));
+    }
+  }
+
+  @Test
+  void shouldRequireMaxPendingToFitBatch() {
+    assertThrows(IllegalArgumentException.class, () -> new SideEffectBatch<String>(writes::add, 10, null, 5));
+  }
+
+  @Test
+  void shouldRequirePositiveMaxSize() {
+    assertThrows(IllegalArgumentException.class, () -> new SideEffectBatch<String>(writes::add, 0));
+  }
+
+  private SideEffectSink<String> failingSink(final AtomicBoolean failing) {
+    return effects -> {
+      if (failing.get()) {
+        throw new IllegalStateException("sink is down");
+      }
+      writes.add(effects);
+    };
+  }
+}
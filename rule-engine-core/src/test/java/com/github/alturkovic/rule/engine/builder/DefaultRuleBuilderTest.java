@@ -25,12 +25,15 @@
 package com.github.alturkovic.rule.engine.builder;
 
 import com.github.alturkovic.rule.engine.api.Action;
+import com.github.alturkovic.rule.engine.api.AsyncAction;
 import com.github.alturkovic.rule.engine.api.Condition;
 import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.core.DefaultRule;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
@@ -69,4 +72,52 @@ class DefaultRuleBuilderTest {
     inOrder.verify(then1).execute(facts);
     inOrder.verify(then2).execute(facts);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldBuildWithDeclaredFacts() {
+    final var rule = new DefaultRuleBuilder("Rule")
+        .inputs("customer", "order")
+        .outputs("discount")
+        .build();
+
+    assertThat(rule.getInputs()).isEqualTo(Set.of("customer", "order"));
+    assertThat(rule.getOutputs()).isEqualTo(Set.of("discount"));
+  }
+
+  @Test
+  void shouldBuildWithUndeclaredFacts() {
+    final var rule = new DefaultRuleBuilder("Rule").build();
+
+    assertThat(rule.getInputs()).isNull();
+    assertThat(rule.getOutputs()).isNull();
+  }
+
+  @Test
+  void shouldBuildAsyncAction() {
+    final var facts = mock(Facts.class);
+    final var then1 = mock(Action.class);
+    final var then2 = mock(Action.class);
+
+    final var rule = new DefaultRuleBuilder("Rule")
+        .thenAsync(then1)
+        .then((AsyncAction) then2::execute)
+        .build();
+
+    assertThat(rule.isAsyncAction()).isTrue();
+
+    rule.execute(facts);
+
+    final var inOrder = inOrder(then1, then2);
+    inOrder.verify(then1).execute(facts);
+    inOrder.verify(then2).execute(facts);
+  }
+
+  @Test
+  void shouldNotBuildMixedActions() {
+    final var builder = new DefaultRuleBuilder("Rule")
+        .then(mock(Action.class))
+        .thenAsync(mock(Action.class));
+
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.composite;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConditionOrderTest {
+  private final Facts facts = SimpleFacts.builder().build();
+  private final List<String> executed = new ArrayList<>();
+
+  @Test
+  void shouldCheckCheapDecliningChildFirstForAll() {
+    final var remoteLookup = child("a-remote", true, true);
+    final var flagCheck = child("b-flag", false, false);
+    final var order = new AdaptiveConditionOrder(new SimpleOrderedRules(remoteLookup, flagCheck), false);
+
+    for (int i = 0; i < 5; i++) {
+      order.findDecisive(facts);
+    }
+    order.reorder();
+
+    assertThat(order.currentOrder()).containsExactly(flagCheck, remoteLookup);
+  }
+
+  @Test
+  void shouldCheckCheapAcceptingChildFirstForAny() {
+    final var remoteLookup = child("a-remote", true, false);
+    final var flagCheck = child("b-flag", false, true);
+    final var order = new AdaptiveConditionOrder(new SimpleOrderedRules(remoteLookup, flagCheck), true);
+
+    for (int i = 0; i < 5; i++) {
+      order.findDecisive(facts);
+    }
+    order.reorder();
+
+    assertThat(order.currentOrder()).containsExactly(flagCheck, remoteLookup);
+  }
+
+  @Test
+  void shouldKeepActionOrderForAdaptiveAll() {
+    final var rule = AllCompositeRule.builder()
+        .rules(new SimpleOrderedRules(child("a-remote", true, true), child("b-flag", false, true)))
+        .adaptive(true)
+        .build();
+
+    assertThat(rule.accept(facts)).isTrue();
+    rule.execute(facts);
+
+    assertThat(executed).containsExactly("a-remote", "b-flag");
+  }
+
+  @Test
+  void shouldExecuteAcceptedChildForAdaptiveAny() {
+    final var rule = AnyCompositeRule.builder()
+        .rules(new SimpleOrderedRules(child("a-remote", true, false), child("b-flag", false, true)))
+        .adaptive(true)
+        .build();
+
+    assertThat(rule.accept(facts)).isTrue();
+    rule.execute(facts);
+
+    assertThat(executed).containsExactly("b-flag");
+  }
+
+  private Rule child(final String name, final boolean slow, final boolean accepted) {
+    return newRule(name)
+        .when(f -> {
+          if (slow) {
+            sleep();
+          }
+          return accepted;
+        })
+        .then(f -> executed.add(name))
+        .build();
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(2);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
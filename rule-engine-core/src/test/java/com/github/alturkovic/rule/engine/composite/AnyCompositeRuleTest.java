@@ -28,6 +28,7 @@ import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
 import java.util.TreeSet;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -90,6 +91,52 @@ class AnyCompositeRuleTest {
     verify(rule2).execute(facts);
   }
 
+  @Test
+  void shouldExecuteRuleAcceptedOnAnotherThread() throws Exception {
+    when(rule1.accept(facts)).thenReturn(false);
+    when(rule2.accept(facts)).thenReturn(true);
+
+    final var executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(() -> anyCompositeRule.accept(facts)).get()).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+    anyCompositeRule.execute(facts);
+
+    verify(rule2).execute(facts);
+  }
+
+  @Test
+  void shouldKeepAcceptedRulePerFacts(@Mock final Facts otherFacts) {
+    when(rule1.accept(facts)).thenReturn(true);
+    when(rule1.accept(otherFacts)).thenReturn(false);
+    when(rule2.accept(otherFacts)).thenReturn(true);
+
+    anyCompositeRule.accept(facts);
+    anyCompositeRule.accept(otherFacts);
+    anyCompositeRule.execute(facts);
+    anyCompositeRule.execute(otherFacts);
+
+    verify(rule1).execute(facts);
+    verify(rule2).execute(otherFacts);
+    verify(rule1, never()).execute(otherFacts);
+  }
+
+  @Test
+  void shouldExecuteRuleAcceptedLastWhenFactsAreEvaluatedConcurrently() {
+    when(rule1.accept(facts)).thenReturn(true, false);
+    when(rule2.accept(facts)).thenReturn(true);
+
+    anyCompositeRule.accept(facts);
+    anyCompositeRule.accept(facts);
+    anyCompositeRule.execute(facts);
+    anyCompositeRule.execute(facts);
+
+    verify(rule1, never()).execute(facts);
+    verify(rule2, times(1)).execute(facts);
+  }
+
   @Test
   void shouldNotExecuteIfThereWasNoAcceptedRule() {
     anyCompositeRule.execute(facts);
@@ -25,8 +25,10 @@
 package com.github.alturkovic.rule.engine.composite;
 
 import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.SkipAfterAcceptedRuleListener;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -139,4 +141,36 @@ class CompositeRuleEngineListenerTest {
 
     assertThat(compositeRuleEngineListener.shouldStopAfterEvaluation(rule, facts, true, null)).isFalse();
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldNotStopWhenAnyListenerDoesNotHandleStopEvents() {
+    final var listener = new CompositeRuleEngineListener(List.of(new SkipAfterAcceptedRuleListener(), RuleEngineListener.NO_OP));
+
+    assertThat(listener.shouldStopAfterEvaluation(rule, facts, true, null)).isFalse();
+    assertThat(listener.shouldStopBeforeEvaluation(rule, facts)).isFalse();
+  }
+
+  @Test
+  void shouldStopWhenThereAreNoListeners() {
+    final var listener = new CompositeRuleEngineListener(List.of());
+
+    assertThat(listener.shouldStopAfterEvaluation(rule, facts, true, null)).isTrue();
+    assertThat(listener.shouldStopBeforeEvaluation(rule, facts)).isTrue();
+    assertThat(ListenerHook.of(listener))
+        .containsExactlyInAnyOrder(ListenerHook.SHOULD_STOP_BEFORE_EVALUATION, ListenerHook.SHOULD_STOP_AFTER_EVALUATION);
+  }
+
+  @Test
+  void shouldExposeHandledHooks() {
+    final var listener = new CompositeRuleEngineListener(List.of(new SkipAfterAcceptedRuleListener(), new SkipAfterAcceptedRuleListener()));
+
+    assertThat(ListenerHook.of(listener)).containsExactly(ListenerHook.SHOULD_STOP_AFTER_EVALUATION);
+  }
+
+  @Test
+  void shouldNotExposeStopHooksVetoedByListenersNotHandlingThem() {
+    final var listener = new CompositeRuleEngineListener(List.of(new SkipAfterAcceptedRuleListener(), RuleEngineListener.NO_OP));
+
+    assertThat(ListenerHook.of(listener)).isEmpty();
+  }
+}
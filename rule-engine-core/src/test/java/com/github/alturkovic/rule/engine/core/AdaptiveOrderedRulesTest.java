@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.listener.SkipAfterAcceptedRuleListener;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveOrderedRulesTest {
+  private final Facts facts = SimpleFacts.builder().build();
+  private final AtomicInteger fired = new AtomicInteger();
+
+  private final Rule slowRarelyAccepted = newRule("a")
+      .priority(1)
+      .when(f -> {
+        sleep();
+        return false;
+      })
+      .build();
+
+  private final Rule cheapAccepted = newRule("b")
+      .priority(1)
+      .when(f -> true)
+      .then(f -> fired.incrementAndGet())
+      .build();
+
+  private final Rule critical = newRule("z")
+      .priority(0)
+      .when(f -> false)
+      .build();
+
+  @Test
+  void shouldReorderRulesOfSamePriorityByCostAndAcceptRate() {
+    final var rules = new AdaptiveOrderedRules(new SimpleOrderedRules(slowRarelyAccepted, cheapAccepted, critical), 1_000);
+    final var engine = new DefaultRuleEngine(rules.statisticsListener(new SkipAfterAcceptedRuleListener()), rules);
+
+    assertThat(rules.getSnapshot()).containsExactly(critical, slowRarelyAccepted, cheapAccepted);
+
+    for (int i = 0; i < 5; i++) {
+      engine.evaluate(facts);
+    }
+    rules.reorder();
+
+    assertThat(rules.getSnapshot()).containsExactly(critical, cheapAccepted, slowRarelyAccepted);
+  }
+
+  @Test
+  void shouldKeepPriorityOrderBetweenGroups() {
+    final var rules = new AdaptiveOrderedRules(new SimpleOrderedRules(slowRarelyAccepted, cheapAccepted, critical), 1);
+    final var engine = new DefaultRuleEngine(rules.statisticsListener(new SkipAfterAcceptedRuleListener()), rules);
+
+    for (int i = 0; i < 5; i++) {
+      engine.evaluate(facts);
+    }
+
+    assertThat(rules.getSnapshot().get(0)).isEqualTo(critical);
+    assertThat(fired).hasValue(5);
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(2);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
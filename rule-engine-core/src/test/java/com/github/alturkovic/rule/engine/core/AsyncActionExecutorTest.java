@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncActionExecutorTest {
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test
+  void shouldRunSubmittedTasks() throws Exception {
+    final var ran = new CountDownLatch(2);
+
+    try (final var executor = new AsyncActionExecutor(2, 4)) {
+      assertThat(executor.submit(ran::countDown)).isTrue();
+      assertThat(executor.submit(ran::countDown)).isTrue();
+      assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldDropTasksWhenQueueIsFull() {
+    final var executor = executor(AsyncActionExecutor.OverflowPolicy.DROP);
+
+    try (executor) {
+      occupy(executor);
+      assertThat(executor.submit(this::blocked)).isTrue();
+      assertThat(executor.submit(this::blocked)).isFalse();
+      assertThat(executor.getDroppedCount()).isEqualTo(1);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void shouldRunOverflowingTasksOnCaller() {
+    final var executor = executor(AsyncActionExecutor.OverflowPolicy.CALLER_RUNS);
+    final var thread = new AtomicReference<Thread>();
+
+    try (executor) {
+      occupy(executor);
+      executor.submit(this::blocked);
+      assertThat(executor.submit(() -> thread.set(Thread.currentThread()))).isTrue();
+      assertThat(thread.get()).isEqualTo(Thread.currentThread());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void shouldWaitForQueuedTasksOnClose() {
+    final var ran = new CountDownLatch(3);
+    final var executor = executor(AsyncActionExecutor.OverflowPolicy.BLOCK);
+
+    executor.submit(ran::countDown);
+    executor.submit(ran::countDown);
+    executor.submit(ran::countDown);
+    executor.close();
+
+    assertThat(ran.getCount()).isZero();
+    assertThat(executor.submit(ran::countDown)).isFalse();
+  }
+
+  @Test
+  void shouldRequireThreads() {
+    assertThrows(IllegalArgumentException.class, () -> new AsyncActionExecutor(0, 1));
+  }
+
+  private AsyncActionExecutor executor(final AsyncActionExecutor.OverflowPolicy overflowPolicy) {
+    return AsyncActionExecutor.builder()
+        .threads(1)
+        .queueCapacity(1)
+        .overflowPolicy(overflowPolicy)
+        .build();
+  }
+
+  private void occupy(final AsyncActionExecutor executor) {
+    executor.submit(() -> {
+      started.countDown();
+      blocked();
+    });
+    try {
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    } catch (final InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void blocked() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.composite.AllCompositeRule;
+import com.github.alturkovic.rule.engine.composite.AnyCompositeRule;
+import com.github.alturkovic.rule.engine.loader.DataLoader;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AsyncConditionRuleEngineTest {
+  private final List<Set<String>> calls = new CopyOnWriteArrayList<>();
+  private final List<String> fired = new CopyOnWriteArrayList<>();
+  private final DataLoader<String, Boolean> blacklist = new DataLoader<>(keys -> {
+    calls.add(keys);
+    return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(k -> k, k -> k.startsWith("bad"))));
+  });
+
+  @Test
+  void shouldDispatchAllLookupsOfEvaluationTogether() {
+    final var rules = new HashSet<Rule>();
+    for (var i = 0; i < 12; i++) {
+      rules.add(blacklisted("rule-" + i, i, "field-" + i));
+    }
+    rules.add(newRule("sync").priority(12).then(f -> fired.add("sync")).build());
+
+    final var facts = new HashMap<String, Object>();
+    for (var i = 0; i < 12; i++) {
+      facts.put("field-" + i, i % 3 == 0 ? "bad-" + i : "good-" + i);
+    }
+
+    new AsyncConditionRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(rules), blacklist).evaluate(new SimpleFacts(facts));
+
+    assertThat(calls).hasSize(1);
+    assertThat(calls.get(0)).hasSize(12);
+    assertThat(fired).containsExactly("rule-0", "rule-3", "rule-6", "rule-9", "sync");
+  }
+
+  @Test
+  void shouldDispatchLookupsOfWholeBatchTogether() {
+    final var rule = blacklisted("rule", 1, "email");
+    final var engine = new AsyncConditionRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(rule)), blacklist);
+
+    engine.evaluateAll(List.of(
+        SimpleFacts.builder().fact("email", "bad@example.com").build(),
+        SimpleFacts.builder().fact("email", "good@example.com").build(),
+        SimpleFacts.builder().fact("email", "bad@example.com").build()));
+
+    assertThat(calls).containsExactly(Set.of("bad@example.com", "good@example.com"));
+    assertThat(fired).containsExactly("rule", "rule");
+  }
+
+  @Test
+  void shouldDispatchChainedLookups() {
+    final var accounts = new DataLoader<String, String>(keys -> CompletableFuture.completedFuture(
+        keys.stream().collect(Collectors.toMap(k -> k, k -> "bad-" + k))));
+    final var rule = newRule("chained")
+        .whenAsync(f -> accounts.load(f.get("account")).thenCompose(blacklist::load))
+        .then(f -> fired.add("chained"))
+        .build();
+
+    new AsyncConditionRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(rule)), accounts, blacklist)
+        .evaluate(SimpleFacts.builder().fact("account", "42").build());
+
+    assertThat(calls).containsExactly(Set.of("bad-42"));
+    assertThat(fired).containsExactly("chained");
+  }
+
+  @Test
+  void shouldReportFailedLookupsAsConditionErrors() {
+    final var failing = new DataLoader<String, Boolean>(keys -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+    final var rule = newRule("failing").whenAsync(f -> failing.load("key")).then(f -> fired.add("failing")).build();
+    final var listener = mock(RuleEngineListener.class);
+    final var facts = SimpleFacts.builder().build();
+
+    new AsyncConditionRuleEngine(listener, new SimpleOrderedRules(Set.of(rule)), failing).evaluate(facts);
+
+    verify(listener).onConditionError(eq(rule), eq(facts), any(IllegalStateException.class));
+    assertThat(fired).isEmpty();
+  }
+
+  @Test
+  void shouldFailLoaderBackedConditionOnDefaultEngine() {
+    final var rule = blacklisted("rule", 1, "email");
+    final var listener = mock(RuleEngineListener.class);
+    final var facts = SimpleFacts.builder().fact("email", "bad@example.com").build();
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5),
+        () -> new DefaultRuleEngine(listener, new SimpleOrderedRules(Set.of(rule))).evaluate(facts));
+
+    verify(listener).onConditionError(eq(rule), eq(facts), any(IllegalStateException.class));
+    assertThat(fired).isEmpty();
+  }
+
+  @Test
+  void shouldFailConditionWhoseLoaderIsNotPassedToEngine() {
+    final var rule = blacklisted("rule", 1, "email");
+    final var listener = mock(RuleEngineListener.class);
+    final var facts = SimpleFacts.builder().fact("email", "bad@example.com").build();
+    final var engine = new AsyncConditionRuleEngine(listener, new SimpleOrderedRules(Set.of(rule)), Duration.ofMillis(50), List.of());
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> engine.evaluate(facts));
+
+    verify(listener).onConditionError(eq(rule), eq(facts), any(IllegalStateException.class));
+    assertThat(fired).isEmpty();
+  }
+
+  @Test
+  void shouldCheckCompositeConditionsInOrder() {
+    final var all = AllCompositeRule.builder()
+        .name("all")
+        .priority(1)
+        .rules(new SimpleOrderedRules(Set.of(blacklisted("all-email", 1, "email"), blacklisted("all-phone", 2, "phone"))))
+        .build();
+    final var any = AnyCompositeRule.builder()
+        .name("any")
+        .priority(2)
+        .rules(new SimpleOrderedRules(Set.of(blacklisted("any-email", 1, "email"), blacklisted("any-address", 2, "address"))))
+        .build();
+    final var facts = SimpleFacts.builder()
+        .fact("email", "bad@example.com")
+        .fact("phone", "bad-555")
+        .fact("address", "good street")
+        .build();
+
+    new AsyncConditionRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(all, any)), blacklist).evaluate(facts);
+
+    assertThat(calls).containsExactly(Set.of("bad@example.com"), Set.of("bad-555"));
+    assertThat(fired).containsExactly("all-email", "all-phone", "any-email");
+  }
+
+  @Test
+  void shouldNotCheckCompositeConditionsAfterDecisiveOne() {
+    final var failing = newRule("failing")
+        .priority(2)
+        .whenAsync((Facts f) -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")))
+        .then(f -> fired.add("failing"))
+        .build();
+    final var undecided = newRule("undecided")
+        .priority(1)
+        .whenAsync((Facts f) -> CompletableFuture.completedFuture(null))
+        .then(f -> fired.add("undecided"))
+        .build();
+    final var any = AnyCompositeRule.builder()
+        .name("any")
+        .priority(1)
+        .rules(new SimpleOrderedRules(Set.of(undecided, blacklisted("any-email", 2, "email"), failing)))
+        .build();
+    final var all = AllCompositeRule.builder()
+        .name("all")
+        .priority(2)
+        .rules(new SimpleOrderedRules(Set.of(undecided, failing)))
+        .build();
+    final var listener = mock(RuleEngineListener.class);
+
+    new AsyncConditionRuleEngine(listener, new SimpleOrderedRules(Set.of(any, all)), blacklist)
+        .evaluate(SimpleFacts.builder().fact("email", "bad@example.com").build());
+
+    verify(listener, never()).onConditionError(any(), any(), any());
+    assertThat(fired).containsExactly("any-email");
+  }
+
+  @Test
+  void shouldNotStartConditionsOfSkippedRules() {
+    final var skipped = blacklisted("skipped", 1, "email");
+    final var listener = new RuleEngineListener() {
+      @Override
+      public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+        return rule == skipped;
+      }
+    };
+
+    new AsyncConditionRuleEngine(listener, new SimpleOrderedRules(Set.of(skipped, blacklisted("checked", 2, "phone"))), blacklist)
+        .evaluate(SimpleFacts.builder().fact("email", "bad@example.com").fact("phone", "bad-555").build());
+
+    assertThat(calls).containsExactly(Set.of("bad-555"));
+    assertThat(fired).containsExactly("checked");
+  }
+
+  private Rule blacklisted(final String name, final int priority, final String fact) {
+    return newRule(name)
+        .priority(priority)
+        .whenAsync((Facts f) -> blacklist.load(f.get(fact)))
+        .then(f -> fired.add(name))
+        .build();
+  }
+}
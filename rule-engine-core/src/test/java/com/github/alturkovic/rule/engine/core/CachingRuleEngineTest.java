@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.time.Duration;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingRuleEngineTest {
+
+  @Mock
+  private Rule rule1, rule2;
+
+  @Mock
+  private RuleEngineListener listener;
+
+  private EvaluationCache cache;
+  private RuleEngine engine;
+
+  @BeforeEach
+  public void setup() {
+    final var rules = new TreeSet<Rule>();
+    rules.add(rule1);
+    rules.add(rule2);
+
+    cache = new EvaluationCache(10, Duration.ofMinutes(1));
+    engine = new CachingRuleEngine(listener, new SimpleOrderedRules(rules), FactsKey.of("customer"), cache);
+  }
+
+  @Test
+  void shouldReplayCachedOutcomeWithoutConditions() {
+    when(rule1.accept(any())).thenReturn(true);
+    when(rule2.accept(any())).thenReturn(false);
+
+    final var facts = customer("john");
+    final var sameFacts = customer("john");
+    engine.evaluate(facts);
+    engine.evaluate(sameFacts);
+
+    verify(rule1, times(1)).accept(any());
+    verify(rule2, times(1)).accept(any());
+    verify(rule1).execute(facts);
+    verify(rule1).execute(sameFacts);
+    verify(rule2, never()).execute(any());
+    verify(listener).afterAction(rule1, sameFacts);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvaluateDifferentKeysSeparately() {
+    engine.evaluate(customer("john"));
+    engine.evaluate(customer("jane"));
+
+    verify(rule1, times(2)).accept(any());
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotCacheFailedEvaluations() {
+    when(rule1.accept(any())).thenReturn(true);
+    doThrow(new IllegalStateException()).when(rule1).execute(any());
+
+    engine.evaluate(customer("john"));
+    engine.evaluate(customer("john"));
+
+    verify(rule1, times(2)).accept(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  private static Facts customer(final String name) {
+    return SimpleFacts.builder()
+        .fact("customer", name)
+        .fact("requestId", Math.random())
+        .build();
+  }
+}
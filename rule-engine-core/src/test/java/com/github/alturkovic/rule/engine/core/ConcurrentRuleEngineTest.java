@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngine;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.api.Rules;
+import com.github.alturkovic.rule.engine.composite.AllCompositeRule;
+import com.github.alturkovic.rule.engine.composite.AnyCompositeRule;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentRuleEngineTest {
+  private static final int THREADS = 16;
+  private static final int EVALUATIONS_PER_THREAD = 2_000;
+
+  @Test
+  void shouldEvaluateSharedDefaultRuleEngineConcurrently() throws Exception {
+    assertConcurrentEvaluations(new DefaultRuleEngine(RuleEngineListener.NO_OP, sharedRules(false)));
+  }
+
+  @Test
+  void shouldEvaluateSharedAdaptiveRulesConcurrently() throws Exception {
+    assertConcurrentEvaluations(new DefaultRuleEngine(RuleEngineListener.NO_OP, sharedRules(true)));
+  }
+
+  @Test
+  void shouldEvaluateSharedInferenceRuleEngineConcurrently() throws Exception {
+    assertConcurrentEvaluations(new InferenceRuleEngine(RuleEngineListener.NO_OP, sharedRules(false)));
+  }
+
+  private void assertConcurrentEvaluations(final RuleEngine engine) throws Exception {
+    final var executor = Executors.newFixedThreadPool(THREADS);
+    final var start = new CountDownLatch(1);
+    final var tasks = new ArrayList<Callable<Integer>>();
+    for (int t = 0; t < THREADS; t++) {
+      final var thread = t;
+      tasks.add(() -> {
+        start.await();
+        var mismatches = 0;
+        for (int i = 0; i < EVALUATIONS_PER_THREAD; i++) {
+          final var number = thread * EVALUATIONS_PER_THREAD + i;
+          final var result = new Result();
+          engine.evaluate(SimpleFacts.builder()
+              .fact("number", number)
+              .fact("result", result)
+              .build());
+          if (!result.matches(number)) {
+            mismatches++;
+          }
+        }
+        return mismatches;
+      });
+    }
+
+    final var futures = tasks.stream().map(executor::submit).collect(Collectors.toList());
+    start.countDown();
+
+    var mismatches = 0;
+    for (final var future : futures) {
+      mismatches += future.get(1, TimeUnit.MINUTES);
+    }
+    executor.shutdown();
+
+    assertThat(mismatches).isZero();
+  }
+
+  /**
+   * Mutable per-evaluation result, rules only accept facts until their action recorded a result.
+   */
+  private static class Result {
+    private final AtomicInteger parity = new AtomicInteger(-1);
+    private final AtomicInteger bothFired = new AtomicInteger();
+
+    boolean matches(final int number) {
+      return parity.get() == number % 2 && bothFired.get() == 1;
+    }
+  }
+
+  private static Rules sharedRules(final boolean adaptive) {
+    final var any = AnyCompositeRule.builder()
+        .name("parity")
+        .priority(1)
+        .rules(new SimpleOrderedRules(parityRule("even", 0), parityRule("odd", 1)))
+        .adaptive(adaptive)
+        .build();
+
+    final var all = AllCompositeRule.builder()
+        .name("both")
+        .priority(2)
+        .rules(new SimpleOrderedRules(
+            newRule("positive")
+                .when(f -> f.<Integer>get("number") >= 0 && result(f).bothFired.get() == 0)
+                .build(),
+            newRule("record")
+                .when(f -> result(f).bothFired.get() == 0)
+                .then(f -> result(f).bothFired.incrementAndGet())
+                .build()))
+        .adaptive(adaptive)
+        .build();
+
+    return new SimpleOrderedRules(any, all);
+  }
+
+  private static Rule parityRule(final String name, final int parity) {
+    return newRule(name)
+        .when(f -> f.<Integer>get("number") % 2 == parity && result(f).parity.get() == -1)
+        .then(f -> result(f).parity.set(parity))
+        .build();
+  }
+
+  private static Result result(final Facts facts) {
+    return facts.get("result");
+  }
+}
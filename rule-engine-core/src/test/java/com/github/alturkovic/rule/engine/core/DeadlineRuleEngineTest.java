@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Condition;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineRuleEngineTest {
+  private final CountDownLatch interrupted = new CountDownLatch(1);
+
+  private final Rule slow = newRule("slow").priority(1).when(sleeping(Duration.ofMillis(50))).build();
+  private final Rule hanging = newRule("hanging").priority(1).when(sleeping(Duration.ofSeconds(10))).build();
+  private final Rule fast1 = newRule("fast1").priority(2).build();
+  private final Rule fast2 = newRule("fast2").priority(3).build();
+
+  @Test
+  void shouldFireAllRulesWithinBudget() {
+    final var engine = new DeadlineRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(fast1, fast2)), Duration.ofSeconds(5));
+
+    final var result = engine.evaluate(SimpleFacts.builder().build(), Duration.ofSeconds(5));
+
+    assertThat(result.getFiredRules()).containsExactly(fast1, fast2);
+    assertThat(result.isPartial()).isFalse();
+    assertThat(result.isDeadlineExceeded()).isFalse();
+  }
+
+  @Test
+  void shouldSkipRemainingRulesOnceDeadlinePasses() {
+    final var engine = new DeadlineRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(slow, fast1, fast2)), Duration.ofSeconds(5));
+
+    final var result = engine.evaluate(SimpleFacts.builder().build(), Duration.ofMillis(10));
+
+    assertThat(result.getEvaluatedRules()).containsExactly(slow);
+    assertThat(result.getFiredRules()).containsExactly(slow);
+    assertThat(result.getSkippedRules()).containsExactly(fast1, fast2);
+    assertThat(result.isDeadlineExceeded()).isTrue();
+    assertThat(result.isPartial()).isTrue();
+  }
+
+  @Test
+  void shouldInterruptConditionOverrunningRuleBudget() throws Exception {
+    final var executor = Executors.newSingleThreadExecutor();
+    try {
+      final var engine = DeadlineRuleEngine.builder()
+          .listener(RuleEngineListener.NO_OP)
+          .rules(new SimpleOrderedRules(Set.of(hanging, fast1)))
+          .defaultBudget(Duration.ofSeconds(5))
+          .ruleBudget(hanging, Duration.ofMillis(20))
+          .conditionExecutor(executor)
+          .build();
+
+      final var result = engine.evaluate(SimpleFacts.builder().build(), Duration.ofSeconds(5));
+
+      assertThat(result.getTimedOutRules()).containsExactly(hanging);
+      assertThat(result.getFiredRules()).containsExactly(fast1);
+      assertThat(result.isPartial()).isFalse();
+      assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Condition sleeping(final Duration duration) {
+    return facts -> {
+      try {
+        Thread.sleep(duration.toMillis());
+        return true;
+      } catch (final InterruptedException e) {
+        interrupted.countDown();
+        return false;
+      }
+    };
+  }
+}
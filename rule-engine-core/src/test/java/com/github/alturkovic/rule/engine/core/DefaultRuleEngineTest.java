@@ -28,13 +28,19 @@ import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngine;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
@@ -170,6 +176,17 @@ class DefaultRuleEngineTest {
     listener.onActionError(rule2, facts, exception);
   }
 
+  @Test
+  void shouldSkipOnlyRulesListenerSkips() {
+    when(listener.shouldSkipEvaluation(rule1, facts)).thenReturn(true);
+
+    engine.evaluate(facts);
+
+    verify(rule1, never()).accept(facts);
+    verify(rule2).accept(facts);
+    verify(listener, never()).shouldStopAfterEvaluation(eq(rule1), any(), anyBoolean(), any());
+  }
+
   @Test
   void shouldStopFurtherEvaluationAfter() {
     when(listener.shouldStopAfterEvaluation(eq(rule1), eq(facts), anyBoolean(), any())).thenReturn(true);
@@ -179,4 +196,76 @@ class DefaultRuleEngineTest {
     verify(rule1).accept(facts);
     verify(rule2, never()).accept(facts);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldListenAroundWholeEvaluation() {
+    when(rule1.accept(facts)).thenReturn(true);
+
+    engine.evaluate(facts);
+
+    final var inOrder = inOrder(rule1, rule2, listener);
+    inOrder.verify(listener).beforeEvaluation(facts);
+    inOrder.verify(rule1).execute(facts);
+    inOrder.verify(rule2).accept(facts);
+    inOrder.verify(listener).afterEvaluation(facts);
+    verify(listener).beforeEvaluation(facts);
+    verify(listener).afterEvaluation(facts);
+  }
+
+  @Test
+  void shouldListenAfterAsyncActionCompletes() throws Exception {
+    final var release = new CountDownLatch(1);
+    final var completed = new CountDownLatch(1);
+    final var asyncRule = newRule("async").thenAsync(f -> await(release)).build();
+    final var listener = new RuleEngineListener() {
+      @Override
+      public void afterAction(final Rule rule, final Facts facts) {
+        completed.countDown();
+      }
+    };
+
+    try (final var executor = new AsyncActionExecutor(1, 1)) {
+      new DefaultRuleEngine(listener, new SimpleOrderedRules(Set.of(asyncRule)), executor).evaluate(facts);
+
+      assertThat(completed.getCount()).isEqualTo(1);
+      release.countDown();
+      assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldReportDroppedAsyncActions() {
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var asyncRule = newRule("async").thenAsync(f -> {
+      started.countDown();
+      await(release);
+    }).build();
+    final var executor = AsyncActionExecutor.builder()
+        .threads(1)
+        .queueCapacity(1)
+        .overflowPolicy(AsyncActionExecutor.OverflowPolicy.DROP)
+        .build();
+
+    try (executor) {
+      final var engine = new DefaultRuleEngine(listener, new SimpleOrderedRules(Set.of(asyncRule)), executor);
+      engine.evaluate(facts);
+      await(started);
+      engine.evaluate(facts);
+      engine.evaluate(facts);
+
+      verify(listener).onActionError(eq(asyncRule), eq(facts), any(RejectedExecutionException.class));
+      assertThat(executor.getDroppedCount()).isEqualTo(1);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
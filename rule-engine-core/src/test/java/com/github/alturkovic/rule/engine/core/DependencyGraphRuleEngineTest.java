@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Action;
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DependencyGraphRuleEngineTest {
+  private final ForkJoinPool pool = new ForkJoinPool(2);
+  private final List<String> fired = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldRunIndependentRulesInParallel() {
+    final var barrier = new CyclicBarrier(2);
+    final var first = newRule("first").priority(1).inputs("customer").outputs("segment").then(f -> await(barrier)).then(record("first")).build();
+    final var second = newRule("second").priority(2).inputs("order").outputs("discount").then(f -> await(barrier)).then(record("second")).build();
+
+    final var engine = new DependencyGraphRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(first, second)), pool);
+    engine.evaluate(SimpleFacts.builder().build());
+
+    assertThat(fired).containsExactlyInAnyOrder("first", "second");
+    assertThat(engine.getDependencies(second)).isEmpty();
+  }
+
+  @Test
+  void shouldRunDependentRulesInRuleOrder() {
+    final var enrich = newRule("enrich").priority(1).inputs("customer").outputs("segment").then(f -> sleep()).then(record("enrich")).build();
+    final var score = newRule("score").priority(2).inputs("segment").outputs("score").then(record("score")).build();
+    final var audit = newRule("audit").priority(3).inputs("order").outputs("segment").then(record("audit")).build();
+
+    final var engine = new DependencyGraphRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(enrich, score, audit)), pool);
+    engine.evaluate(SimpleFacts.builder().build());
+
+    assertThat(fired).containsExactly("enrich", "score", "audit");
+    assertThat(engine.getDependencies(score)).containsExactly(enrich);
+    assertThat(engine.getDependencies(audit)).containsExactly(enrich, score);
+  }
+
+  @Test
+  void shouldTreatUndeclaredRulesAsBarriers() {
+    final var before = newRule("before").priority(1).inputs("customer").outputs("segment").build();
+    final var undeclared = newRule("undeclared").priority(2).build();
+    final var after = newRule("after").priority(3).inputs("order").outputs("discount").build();
+    final var pure = newRule("pure").priority(4).inputs().outputs().build();
+
+    final var engine = new DependencyGraphRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(before, undeclared, after, pure)), pool);
+
+    assertThat(engine.getDependencies(undeclared)).containsExactly(before);
+    assertThat(engine.getDependencies(after)).containsExactly(undeclared);
+    assertThat(engine.getDependencies(pure)).isEmpty();
+  }
+
+  @Test
+  void shouldNotStartDependentRulesAfterStopping() {
+    final var first = newRule("first").priority(1).inputs().outputs("segment").then(record("first")).build();
+    final var second = newRule("second").priority(2).inputs("segment").outputs().then(record("second")).build();
+
+    final var listener = new RuleEngineListener() {
+      @Override
+      public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
+        return true;
+      }
+    };
+
+    new DependencyGraphRuleEngine(listener, new SimpleOrderedRules(Set.of(first, second)), pool).evaluate(SimpleFacts.builder().build());
+
+    assertThat(fired).containsExactly("first");
+  }
+
+  @Test
+  void shouldPropagateListenerFailures() {
+    final var rule = newRule("rule").inputs().outputs().build();
+
+    final var listener = new RuleEngineListener() {
+      @Override
+      public boolean shouldSkipEvaluation(final Rule rule, final Facts facts) {
+        throw new IllegalStateException("listener");
+      }
+    };
+
+    final var engine = new DependencyGraphRuleEngine(listener, new SimpleOrderedRules(Set.of(rule)), pool);
+
+    assertThrows(IllegalStateException.class, () -> engine.evaluate(SimpleFacts.builder().build()));
+  }
+
+  private Action record(final String name) {
+    return f -> fired.add(name);
+  }
+
+  private static void await(final CyclicBarrier barrier) {
+    try {
+      barrier.await(5, TimeUnit.SECONDS);
+    } catch (final Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvaluationCacheTest {
+  private final AtomicLong time = new AtomicLong();
+  private final EvaluationOutcome outcome = new EvaluationOutcome(List.of());
+
+  @Test
+  void shouldEvictLeastRecentlyUsed() {
+    final var cache = new EvaluationCache(2, Duration.ofMinutes(1), 1, time::get);
+
+    cache.put("a", outcome);
+    cache.put("b", outcome);
+    cache.get("a");
+    cache.put("c", outcome);
+
+    assertThat(cache.get("a")).isSameAs(outcome);
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("c")).isSameAs(outcome);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldExpireAfterTimeToLive() {
+    final var cache = new EvaluationCache(2, Duration.ofNanos(10), 1, time::get);
+
+    cache.put("a", outcome);
+    time.set(9);
+    assertThat(cache.get("a")).isSameAs(outcome);
+    time.set(10);
+    assertThat(cache.get("a")).isNull();
+  }
+
+  @Test
+  void shouldReportHitRate() {
+    final var cache = new EvaluationCache(2, Duration.ofMinutes(1), 1, time::get);
+
+    cache.put("a", outcome);
+    cache.get("a");
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    assertThat(cache.getHitRate()).isEqualTo(0.75);
+  }
+
+  @Test
+  void shouldCompareFactsKeysByValues() {
+    final var keyExtractor = FactsKey.of("a", "b");
+    final var facts1 = SimpleFacts.builder().fact("a", 1).fact("b", "x").fact("c", 1).build();
+    final var facts2 = SimpleFacts.builder().fact("a", 1).fact("b", "x").fact("c", 2).build();
+    final var facts3 = SimpleFacts.builder().fact("a", 2).fact("b", "x").build();
+
+    assertThat(keyExtractor.apply(facts1)).isEqualTo(keyExtractor.apply(facts2));
+    assertThat(keyExtractor.apply(facts1)).isNotEqualTo(keyExtractor.apply(facts3));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexedRuleEngineTest {
+  private final List<String> executed = new ArrayList<>();
+
+  private final Rule accepting = newRule("accepting").priority(1).then(f -> executed.add("accepting")).build();
+  private final Rule declining = newRule("declining").priority(2).when(f -> f.isDeclared("decline")).build();
+  private final Rule failingCondition = newRule("failingCondition").priority(3).when(f -> {
+    throw new IllegalStateException("condition");
+  }).build();
+  private final Rule failingAction = newRule("failingAction").priority(4).then(f -> {
+    throw new IllegalStateException("action");
+  }).build();
+
+  private final IndexedRuleEngine engine = new IndexedRuleEngine(RuleEngineListener.NO_OP,
+      new SimpleOrderedRules(Set.of(accepting, declining, failingCondition, failingAction)));
+
+  @Test
+  void shouldRecordAcceptedFiredAndFailedRules() {
+    final var result = engine.evaluate(SimpleFacts.builder().build(), engine.newResult());
+
+    assertThat(result.getAcceptedRules()).containsExactly(accepting, failingAction);
+    assertThat(result.getFiredRules()).containsExactly(accepting);
+    assertThat(result.getFailedIds().stream()).containsExactly(engine.getIndex().idOf(failingCondition), engine.getIndex().idOf(failingAction));
+    assertThat(result.getError(engine.getIndex().idOf(failingCondition))).hasMessage("condition");
+    assertThat(result.getError(engine.getIndex().idOf(failingAction))).hasMessage("action");
+    assertThat(result.isFired(declining)).isFalse();
+    assertThat(executed).containsExactly("accepting");
+  }
+
+  @Test
+  void shouldOnlyMatchWithoutExecutingActions() {
+    final var result = engine.match(SimpleFacts.builder().fact("decline", true).build(), engine.newResult());
+
+    assertThat(result.getAcceptedRules()).containsExactly(accepting, declining, failingAction);
+    assertThat(result.getFiredCount()).isZero();
+    assertThat(executed).isEmpty();
+  }
+
+  @Test
+  void shouldResetReusedResult() {
+    final var result = engine.newResult();
+    engine.match(SimpleFacts.builder().fact("decline", true).build(), result);
+
+    engine.match(SimpleFacts.builder().build(), result);
+
+    assertThat(result.isAccepted(declining)).isFalse();
+    assertThat(result.getAcceptedCount()).isEqualTo(2);
+    assertThat(result.getFailedIds().cardinality()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRejectResultOfOtherEngine() {
+    final var other = new IndexedRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(accepting)));
+
+    assertThatThrownBy(() -> engine.evaluate(SimpleFacts.builder().build(), other.newResult()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -28,6 +28,7 @@ import com.github.alturkovic.rule.engine.api.Facts;
 import com.github.alturkovic.rule.engine.api.Rule;
 import com.github.alturkovic.rule.engine.api.RuleEngine;
 import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.List;
 import java.util.TreeSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +39,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -110,4 +112,16 @@ class InferenceRuleEngineTest {
     verify(incrementByTwoTemperatureRule, never()).execute(facts);
     verify(decrementByOneTemperatureRule, never()).execute(facts);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldListenAroundWholeEvaluationOnce() {
+    final var listener = mock(RuleEngineListener.class);
+    engine = new InferenceRuleEngine(listener, new SimpleOrderedRules(new TreeSet<>(List.of(incrementByTwoTemperatureRule, decrementByOneTemperatureRule))));
+
+    engine.evaluate(facts);
+
+    assertThat(currentTemperature).isEqualTo(WANTED_TEMPERATURE);
+    verify(listener).beforeEvaluation(facts);
+    verify(listener).afterEvaluation(facts);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyFactsTest {
+  private final AtomicInteger computations = new AtomicInteger();
+  private final Supplier<Integer> creditScore = () -> {
+    computations.incrementAndGet();
+    return 700;
+  };
+
+  @Test
+  void shouldComputeLazyFactOnFirstAccessOnly() {
+    final var facts = LazyFacts.builder()
+        .fact("age", 20)
+        .lazyFact("creditScore", creditScore)
+        .build();
+
+    assertThat(facts.isDeclared("creditScore")).isTrue();
+    assertThat(facts.isComputed("creditScore")).isFalse();
+    assertThat(computations).hasValue(0);
+
+    assertThat(facts.<Integer>get("creditScore")).isEqualTo(700);
+    assertThat(facts.<Integer>get("creditScore")).isEqualTo(700);
+    assertThat(facts.<Integer>get("age")).isEqualTo(20);
+    assertThat(facts.isComputed("creditScore")).isTrue();
+    assertThat(computations).hasValue(1);
+  }
+
+  @Test
+  void shouldExposeLazyMapView() {
+    final var facts = LazyFacts.builder()
+        .fact("age", 20)
+        .lazyFact("creditScore", creditScore)
+        .build();
+
+    final var map = facts.asMap();
+    assertThat(map).hasSize(2);
+    assertThat(map.containsKey("creditScore")).isTrue();
+    assertThat(map.get("age")).isEqualTo(20);
+    assertThat(computations).hasValue(0);
+    assertThat(facts.toString()).doesNotContain("700");
+
+    assertThat(map).isEqualTo(Map.of("age", 20, "creditScore", 700));
+    assertThat(computations).hasValue(1);
+  }
+
+  @Test
+  void shouldKeepValuesWrittenToMapInThatMap() {
+    final var facts = LazyFacts.builder()
+        .fact("age", 20)
+        .lazyFact("creditScore", creditScore)
+        .build();
+
+    final var map = facts.asMap();
+    assertThat(map.put("creditScore", 600)).isNull();
+    map.put("doubledAge", 40);
+    map.remove("age");
+
+    assertThat(map).isEqualTo(Map.of("creditScore", 600, "doubledAge", 40));
+    assertThat(computations).hasValue(0);
+    assertThat(facts.<Integer>get("age")).isEqualTo(20);
+    assertThat(facts.isDeclared("doubledAge")).isFalse();
+    assertThat(facts.asMap()).containsOnlyKeys("age", "creditScore");
+  }
+
+  @Test
+  void shouldComputeOnceUnderConcurrentAccess() throws Exception {
+    final var facts = LazyFacts.builder().lazyFact("creditScore", creditScore).build();
+    final var executor = Executors.newFixedThreadPool(4);
+    final var done = new CountDownLatch(8);
+
+    try {
+      for (var i = 0; i < 8; i++) {
+        executor.execute(() -> {
+          facts.get("creditScore");
+          done.countDown();
+        });
+      }
+      assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(computations).hasValue(1);
+  }
+
+  @Test
+  void shouldRetryFailedSupplier() {
+    final var attempts = new AtomicInteger();
+    final var facts = LazyFacts.builder()
+        .lazyFact("geo", () -> {
+          if (attempts.incrementAndGet() == 1) {
+            throw new IllegalStateException("unavailable");
+          }
+          return "HR";
+        })
+        .build();
+
+    assertThrows(IllegalStateException.class, () -> facts.get("geo"));
+    assertThat(facts.<String>get("geo")).isEqualTo("HR");
+  }
+
+  @Test
+  void shouldNotDeclareFactTwice() {
+    assertThrows(IllegalArgumentException.class, () -> LazyFacts.builder().fact("age", 20).lazyFact("age", () -> 21).build());
+  }
+}
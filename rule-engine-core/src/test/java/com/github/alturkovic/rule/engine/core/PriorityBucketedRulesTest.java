@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityBucketedRulesTest {
+  private final List<String> fired = new ArrayList<>();
+
+  private final Rule a1 = rule("a1", 1);
+  private final Rule b1 = rule("b1", 1);
+  private final Rule c3 = rule("c3", 3);
+  private final Rule d5 = rule("d5", 5);
+  private final Rule e5 = rule("e5", 5);
+  private final Rule fMax = rule("f", Integer.MAX_VALUE);
+
+  private final PriorityBucketedRules rules = new PriorityBucketedRules(new SimpleOrderedRules(e5, d5, c3, b1, a1, fMax));
+
+  @Test
+  void shouldIterateAllRulesInOrder() {
+    assertThat(rules).containsExactly(a1, b1, c3, d5, e5, fMax);
+  }
+
+  @Test
+  void shouldSelectInclusiveRange() {
+    assertThat(rules.range(1, 3)).containsExactly(a1, b1, c3);
+    assertThat(rules.range(2, 5)).containsExactly(c3, d5, e5);
+    assertThat(rules.range(4, 4)).isEmpty();
+    assertThat(rules.range(5, 1)).isEmpty();
+    assertThat(rules.range(Integer.MIN_VALUE, Integer.MAX_VALUE)).containsExactly(a1, b1, c3, d5, e5, fMax);
+    assertThat(rules.range(6, Integer.MAX_VALUE)).containsExactly(fMax);
+  }
+
+  @Test
+  void shouldCountRange() {
+    assertThat(rules.count(1, 3)).isEqualTo(3);
+    assertThat(rules.count(4, 4)).isZero();
+    assertThat(rules.size()).isEqualTo(6);
+  }
+
+  @Test
+  void shouldListDistinctPriorities() {
+    assertThat(rules.getPriorities()).containsExactly(1, 3, 5, Integer.MAX_VALUE);
+  }
+
+  @Test
+  void shouldEvaluateOnlyRulesInRange() {
+    final var engine = new PriorityRangeRuleEngine(RuleEngineListener.NO_OP, rules);
+
+    engine.evaluate(SimpleFacts.builder().build(), 3, 5);
+
+    assertThat(fired).containsExactly("c3", "d5", "e5");
+  }
+
+  private Rule rule(final String name, final int priority) {
+    return newRule(name)
+        .priority(priority)
+        .then(f -> fired.add(name))
+        .build();
+  }
+}
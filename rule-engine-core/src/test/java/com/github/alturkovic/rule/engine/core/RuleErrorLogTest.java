@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RuleErrorLogTest {
+  private final AtomicLong time = new AtomicLong();
+  private final RuleErrorLog errorLog = new RuleErrorLog(Duration.ofSeconds(10), time::get);
+  private final Rule broken = newRule("broken").build();
+  private final Rule other = newRule("other").build();
+  private final Exception exception = new IllegalStateException();
+
+  @Mock
+  private Logger log;
+
+  @Mock
+  private Facts facts;
+
+  @Test
+  void shouldLogOnlyFirstFailureWithinWindow() {
+    for (int i = 0; i < 5; i++) {
+      errorLog.error(log, broken, "failed execution", facts, exception);
+    }
+
+    verify(log).error("Rule '{}' {} using: {}", broken, "failed execution", facts, exception);
+    verify(log, times(4)).debug("Rule '{}' {} using: {}", broken, "failed execution", facts, exception);
+  }
+
+  @Test
+  void shouldReportSuppressedFailuresInNextWindow() {
+    for (int i = 0; i < 3; i++) {
+      errorLog.error(log, broken, "failed execution", facts, exception);
+    }
+    time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    errorLog.error(log, broken, "failed execution", facts, exception);
+
+    verify(log).error("Rule '{}' {} using: {}, {} failures since the last logged one were suppressed", broken, "failed execution", facts, 2L, exception);
+  }
+
+  @Test
+  void shouldLimitEachRuleSeparately() {
+    errorLog.error(log, broken, "failed condition check", facts, exception);
+    errorLog.error(log, other, "failed condition check", facts, exception);
+
+    verify(log, times(2)).error(anyString(), any(), any(), any(), any());
+  }
+
+  @Test
+  void shouldLimitEqualRulesSeparately() {
+    final var equal = newRule("broken").build();
+
+    errorLog.error(log, broken, "failed execution", facts, exception);
+    errorLog.error(log, equal, "failed execution", facts, exception);
+
+    verify(log, times(2)).error("Rule '{}' {} using: {}", broken, "failed execution", facts, exception);
+  }
+
+  @Test
+  void shouldLogEveryFailureByDefault() {
+    for (int i = 0; i < 3; i++) {
+      RuleErrorLog.ALWAYS.error(log, broken, "failed execution", facts, exception);
+    }
+
+    verify(log, times(3)).error("Rule '{}' {} using: {}", broken, "failed execution", facts, exception);
+  }
+}
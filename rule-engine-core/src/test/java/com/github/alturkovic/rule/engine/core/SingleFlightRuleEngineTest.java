@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightRuleEngineTest {
+  private final CountDownLatch conditionStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseCondition = new CountDownLatch(1);
+  private final AtomicInteger conditionChecks = new AtomicInteger();
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private final Rule slowRule = newRule("slow")
+      .when(facts -> {
+        conditionChecks.incrementAndGet();
+        conditionStarted.countDown();
+        await(releaseCondition);
+        return true;
+      })
+      .then(facts -> executions.incrementAndGet())
+      .build();
+
+  private final AtomicInteger secondExecutions = new AtomicInteger();
+
+  private final Rule secondRule = newRule("trailing")
+      .when(facts -> true)
+      .then(facts -> secondExecutions.incrementAndGet())
+      .build();
+
+  @Test
+  void shouldCoalesceConcurrentEvaluationsWithEqualKeys() throws Exception {
+    final var engine = engine(Duration.ofSeconds(5));
+
+    final var leader = new Thread(() -> engine.evaluate(product("p1")));
+    leader.start();
+    conditionStarted.await();
+
+    final var follower = new Thread(() -> engine.evaluate(product("p1")));
+    follower.start();
+    waitUntilWaiting(follower);
+    releaseCondition.countDown();
+
+    leader.join();
+    follower.join();
+
+    assertThat(conditionChecks).hasValue(1);
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  void shouldEvaluateSeparatelyAfterTimeout() throws Exception {
+    final var engine = engine(Duration.ofMillis(10));
+
+    final var leader = new Thread(() -> engine.evaluate(product("p1")));
+    leader.start();
+    conditionStarted.await();
+
+    final var follower = new Thread(() -> engine.evaluate(product("p1")));
+    follower.start();
+    while (conditionChecks.get() < 2) {
+      Thread.sleep(1);
+    }
+    releaseCondition.countDown();
+
+    leader.join();
+    follower.join();
+
+    assertThat(conditionChecks).hasValue(2);
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  void shouldEvaluateSeparatelyWhenLeaderEvaluationThrows() throws Exception {
+    final var leaderThread = new AtomicReference<Thread>();
+    final var listener = new RuleEngineListener() {
+      @Override
+      public boolean shouldStopBeforeEvaluation(final Rule rule, final Facts facts) {
+        if (rule == secondRule && Thread.currentThread() == leaderThread.get()) {
+          throw new IllegalStateException("listener failure");
+        }
+        return false;
+      }
+    };
+    final var engine = new SingleFlightRuleEngine(listener, new SimpleOrderedRules(slowRule, secondRule), FactsKey.of("product"), Duration.ofSeconds(5));
+
+    final var leader = new Thread(() -> {
+      try {
+        engine.evaluate(product("p1"));
+      } catch (final IllegalStateException ignored) {
+      }
+    });
+    leaderThread.set(leader);
+    leader.start();
+    conditionStarted.await();
+
+    final var follower = new Thread(() -> engine.evaluate(product("p1")));
+    follower.start();
+    waitUntilWaiting(follower);
+    releaseCondition.countDown();
+
+    leader.join();
+    follower.join();
+
+    assertThat(conditionChecks).hasValue(2);
+    assertThat(secondExecutions).hasValue(1);
+  }
+
+  @Test
+  void shouldNotCoalesceDifferentKeys() throws Exception {
+    releaseCondition.countDown();
+    final var engine = engine(Duration.ofSeconds(5));
+
+    engine.evaluate(product("p1"));
+    engine.evaluate(product("p2"));
+
+    assertThat(conditionChecks).hasValue(2);
+  }
+
+  private SingleFlightRuleEngine engine(final Duration timeout) {
+    return new SingleFlightRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(slowRule), FactsKey.of("product"), timeout);
+  }
+
+  private static Facts product(final String product) {
+    return SimpleFacts.builder()
+        .fact("product", product)
+        .build();
+  }
+
+  private static void waitUntilWaiting(final Thread thread) throws InterruptedException {
+    while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.core;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpeculativeRuleEngineTest {
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final List<String> fired = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldCheckUpcomingConditionsWhileActionExecutes() {
+    final var checked = new CountDownLatch(1);
+    final var overlapped = new AtomicBoolean();
+
+    final var slow = newRule("slow").priority(1).inputs().outputs("a")
+        .then(f -> overlapped.set(await(checked)))
+        .build();
+    final var independent = newRule("independent").priority(2).inputs("b").outputs()
+        .when(f -> {
+          checked.countDown();
+          return true;
+        })
+        .then(f -> fired.add("independent"))
+        .build();
+
+    new SpeculativeRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(slow, independent)), executor)
+        .evaluate(SimpleFacts.builder().build());
+
+    assertThat(overlapped).isTrue();
+    assertThat(fired).containsExactly("independent");
+  }
+
+  @Test
+  void shouldRecheckConditionWhenInputsWereModified() {
+    final var flag = new AtomicBoolean();
+    final var checks = new CountDownLatch(2);
+
+    final var slow = newRule("slow").priority(1).inputs().outputs("a")
+        .then(f -> await(checks))
+        .build();
+    final var writer = newRule("writer").priority(2).inputs().outputs("flag")
+        .when(f -> {
+          checks.countDown();
+          return true;
+        })
+        .then(f -> f.<AtomicBoolean>get("flag").set(true))
+        .build();
+    final var reader = newRule("reader").priority(3).inputs("flag").outputs()
+        .when(f -> {
+          checks.countDown();
+          return f.<AtomicBoolean>get("flag").get();
+        })
+        .then(f -> fired.add("reader"))
+        .build();
+
+    new SpeculativeRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(slow, writer, reader)), executor)
+        .evaluate(SimpleFacts.builder().fact("flag", flag).build());
+
+    assertThat(fired).containsExactly("reader");
+  }
+
+  @Test
+  void shouldNotUseSpeculativeResultsAfterStopping() {
+    final var checked = new CountDownLatch(1);
+    final var conditions = new CopyOnWriteArrayList<String>();
+
+    final var first = newRule("first").priority(1).inputs().outputs("a")
+        .then(f -> await(checked))
+        .build();
+    final var second = newRule("second").priority(2).inputs("b").outputs()
+        .when(f -> {
+          checked.countDown();
+          return true;
+        })
+        .then(f -> fired.add("second"))
+        .build();
+
+    final var listener = new RuleEngineListener() {
+      @Override
+      public void afterCondition(final Rule rule, final Facts facts, final boolean accepted) {
+        conditions.add(rule.getName());
+      }
+
+      @Override
+      public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception e) {
+        return true;
+      }
+    };
+
+    new SpeculativeRuleEngine(listener, new SimpleOrderedRules(Set.of(first, second)), executor)
+        .evaluate(SimpleFacts.builder().build());
+
+    assertThat(conditions).containsExactly("first");
+    assertThat(fired).isEmpty();
+  }
+
+  @Test
+  void shouldNotSpeculateRulesWithUndeclaredInputs() {
+    final var threads = new CopyOnWriteArrayList<Thread>();
+
+    final var first = newRule("first").priority(1).inputs().outputs("a").build();
+    final var second = newRule("second").priority(2)
+        .when(f -> threads.add(Thread.currentThread()))
+        .build();
+
+    new SpeculativeRuleEngine(RuleEngineListener.NO_OP, new SimpleOrderedRules(Set.of(first, second)), executor)
+        .evaluate(SimpleFacts.builder().build());
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  private static boolean await(final CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
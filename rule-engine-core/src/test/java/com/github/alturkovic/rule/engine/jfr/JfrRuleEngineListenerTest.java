@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.jfr;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRuleEngineListenerTest {
+  private final Rule accepting = newRule("accepting").priority(1).build();
+  private final Rule failing = newRule("failing").priority(2).then(f -> {
+    throw new IllegalStateException("failed");
+  }).build();
+
+  private final DefaultRuleEngine engine = new DefaultRuleEngine(new JfrRuleEngineListener(), new SimpleOrderedRules(Set.of(accepting, failing)));
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldEmitEnabledEvents() throws Exception {
+    final var events = record(recording -> {
+      recording.enable(RuleEvaluationEvent.class).withThreshold(Duration.ZERO);
+      recording.enable(RuleConditionEvent.class).withThreshold(Duration.ZERO);
+      recording.enable(RuleActionEvent.class).withThreshold(Duration.ZERO);
+      recording.enable(RuleErrorEvent.class);
+    });
+
+    assertThat(ofType(events, RuleEvaluationEvent.NAME)).hasOnlyOneElementSatisfying(event -> {
+      assertThat(event.getInt("evaluatedRules")).isEqualTo(2);
+      assertThat(event.getInt("firedRules")).isEqualTo(1);
+      assertThat(event.getInt("failedRules")).isEqualTo(1);
+    });
+    assertThat(ofType(events, RuleConditionEvent.NAME)).extracting(e -> e.getString("ruleName")).containsExactly("accepting", "failing");
+    assertThat(ofType(events, RuleActionEvent.NAME)).extracting(e -> e.getBoolean("succeeded")).containsExactly(true, false);
+    assertThat(ofType(events, RuleErrorEvent.NAME)).hasOnlyOneElementSatisfying(event -> {
+      assertThat(event.getString("ruleName")).isEqualTo("failing");
+      assertThat(event.getInt("priority")).isEqualTo(2);
+      assertThat(event.getString("phase")).isEqualTo("action");
+      assertThat(event.getString("message")).isEqualTo("failed");
+    });
+  }
+
+  @Test
+  void shouldNotEmitDisabledEvents() throws Exception {
+    final var events = record(recording -> {
+      recording.disable(RuleEvaluationEvent.class);
+      recording.disable(RuleConditionEvent.class);
+      recording.disable(RuleActionEvent.class);
+      recording.enable(RuleErrorEvent.class);
+    });
+
+    assertThat(events).extracting(e -> e.getEventType().getName()).containsOnly(RuleErrorEvent.NAME);
+  }
+
+  private List<RecordedEvent> record(final RecordingConfigurer configurer) throws Exception {
+    final var file = directory.resolve("recording.jfr");
+    try (final var recording = new Recording()) {
+      configurer.configure(recording);
+      recording.start();
+      engine.evaluate(new SimpleFacts(new HashMap<>()));
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().startsWith("com.github.alturkovic.rule.engine"))
+        .collect(Collectors.toList());
+  }
+
+  private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .collect(Collectors.toList());
+  }
+
+  private interface RecordingConfigurer {
+    void configure(Recording recording);
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.listener.AsyncRuleEngineListener.OverflowPolicy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncRuleEngineListenerTest {
+  private final Rule rule = newRule("rule").build();
+
+  @Mock
+  private Facts facts;
+
+  @Mock
+  private RuleEngineListener delegate;
+
+  @Test
+  void shouldDispatchEventsOnConsumerThread() {
+    final var thread = new AtomicReference<Thread>();
+    final var listener = new AsyncRuleEngineListener(new RuleEngineListener() {
+      @Override
+      public void afterAction(final Rule rule, final Facts facts) {
+        thread.set(Thread.currentThread());
+      }
+    }, 16);
+
+    listener.afterAction(rule, facts);
+    listener.close();
+
+    assertThat(thread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+  }
+
+  @Test
+  void shouldDispatchEventsInOrderWithSingleConsumer() {
+    final var listener = new AsyncRuleEngineListener(delegate, 16);
+    final var exception = new IllegalStateException();
+
+    listener.beforeCondition(rule, facts);
+    listener.afterCondition(rule, facts, true);
+    listener.beforeAction(rule, facts);
+    listener.onActionError(rule, facts, exception);
+    listener.close();
+
+    final var inOrder = inOrder(delegate);
+    inOrder.verify(delegate).beforeCondition(rule, facts);
+    inOrder.verify(delegate).afterCondition(rule, facts, true);
+    inOrder.verify(delegate).beforeAction(rule, facts);
+    inOrder.verify(delegate).onActionError(rule, facts, exception);
+  }
+
+  @Test
+  void shouldDefaultUnsetBuilderFields() {
+    final var listener = AsyncRuleEngineListener.builder()
+        .delegate(delegate)
+        .bufferCapacity(16)
+        .build();
+
+    listener.afterAction(rule, facts);
+    listener.close();
+
+    assertThat(listener.toString()).contains("overflowPolicy=BLOCK");
+    verify(delegate).afterAction(rule, facts);
+  }
+
+  @Test
+  void shouldDecideStoppingSynchronously() {
+    when(delegate.shouldStopBeforeEvaluation(rule, facts)).thenReturn(true);
+    final var listener = new AsyncRuleEngineListener(delegate, 16);
+
+    assertThat(listener.shouldStopBeforeEvaluation(rule, facts)).isTrue();
+    listener.close();
+  }
+
+  @Test
+  void shouldDropEventsWhenFull() {
+    final var release = new CountDownLatch(1);
+    final var delivered = new AtomicInteger();
+    final var listener = AsyncRuleEngineListener.builder()
+        .delegate(blockingListener(release, delivered))
+        .bufferCapacity(2)
+        .consumerThreads(1)
+        .overflowPolicy(OverflowPolicy.DROP)
+        .build();
+
+    for (int i = 0; i < 10; i++) {
+      listener.afterAction(rule, facts);
+    }
+    release.countDown();
+    listener.close();
+
+    assertThat(listener.getDroppedCount()).isGreaterThanOrEqualTo(7);
+    assertThat(delivered.get() + listener.getDroppedCount()).isEqualTo(10);
+  }
+
+  @Test
+  void shouldSampleEventsWhenHalfFull() {
+    final var release = new CountDownLatch(1);
+    final var delivered = new AtomicInteger();
+    final var listener = AsyncRuleEngineListener.builder()
+        .delegate(blockingListener(release, delivered))
+        .bufferCapacity(64)
+        .consumerThreads(1)
+        .overflowPolicy(OverflowPolicy.SAMPLE)
+        .sampleRate(4)
+        .build();
+
+    for (int i = 0; i < 64; i++) {
+      listener.afterAction(rule, facts);
+    }
+    release.countDown();
+    listener.close();
+
+    assertThat(listener.getDroppedCount()).isPositive();
+    assertThat(delivered.get()).isBetween(32, 48);
+    assertThat(delivered.get() + listener.getDroppedCount()).isEqualTo(64);
+  }
+
+  @Test
+  void shouldBlockUntilThereIsRoom() {
+    final var delivered = new AtomicInteger();
+    final var listener = AsyncRuleEngineListener.builder()
+        .delegate(blockingListener(new CountDownLatch(0), delivered))
+        .bufferCapacity(2)
+        .consumerThreads(2)
+        .overflowPolicy(OverflowPolicy.BLOCK)
+        .build();
+
+    for (int i = 0; i < 100; i++) {
+      listener.afterAction(rule, facts);
+    }
+    listener.close();
+
+    assertThat(listener.getDroppedCount()).isZero();
+    assertThat(delivered.get()).isEqualTo(100);
+  }
+
+  @Test
+  void shouldAccountForEventsPublishedWhileClosing() throws InterruptedException {
+    final var delivered = new AtomicInteger();
+    final var listener = AsyncRuleEngineListener.builder()
+        .delegate(blockingListener(new CountDownLatch(0), delivered))
+        .bufferCapacity(16)
+        .consumerThreads(1)
+        .overflowPolicy(OverflowPolicy.DROP)
+        .build();
+
+    final var started = new CountDownLatch(4);
+    final var publishers = new Thread[4];
+    for (int i = 0; i < publishers.length; i++) {
+      publishers[i] = new Thread(() -> {
+        started.countDown();
+        for (int j = 0; j < 1000; j++) {
+          listener.afterAction(rule, facts);
+        }
+      });
+      publishers[i].start();
+    }
+    started.await();
+    listener.close();
+    for (final var publisher : publishers) {
+      publisher.join();
+    }
+
+    assertThat(delivered.get() + listener.getDroppedCount()).isEqualTo(4000);
+  }
+
+  private static RuleEngineListener blockingListener(final CountDownLatch release, final AtomicInteger delivered) {
+    return new RuleEngineListener() {
+      @Override
+      public void afterAction(final Rule rule, final Facts facts) {
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        delivered.incrementAndGet();
+      }
+    };
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.InferenceRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import com.github.alturkovic.rule.engine.listener.CircuitBreakerListener.State;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerListenerTest {
+  private final AtomicLong time = new AtomicLong();
+  private final AtomicBoolean broken = new AtomicBoolean(true);
+  private final AtomicInteger brokenCalls = new AtomicInteger();
+  private final AtomicInteger healthyCalls = new AtomicInteger();
+
+  private final Rule brokenRule = newRule("broken").priority(1).when(f -> {
+    brokenCalls.incrementAndGet();
+    if (broken.get()) {
+      throw new IllegalStateException("downstream is down");
+    }
+    return true;
+  }).build();
+  private final Rule healthyRule = newRule("healthy").priority(2).then(f -> healthyCalls.incrementAndGet()).build();
+
+  private final CircuitBreakerListener listener = new CircuitBreakerListener(0.5, 4, Duration.ofSeconds(10), 2, time::get);
+  private final DefaultRuleEngine engine = new DefaultRuleEngine(listener, new SimpleOrderedRules(Set.of(brokenRule, healthyRule)));
+
+  @Test
+  void shouldOpenAfterFailureRateAndSkipOnlyFailingRule() {
+    evaluate(4);
+    assertThat(listener.getState(brokenRule)).isEqualTo(State.OPEN);
+
+    evaluate(10);
+
+    assertThat(brokenCalls).hasValue(4);
+    assertThat(healthyCalls).hasValue(14);
+    assertThat(listener.getSkippedCount(brokenRule)).isEqualTo(10);
+    assertThat(listener.getState(healthyRule)).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void shouldCloseAfterSuccessfulProbes() {
+    evaluate(4);
+    broken.set(false);
+    time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    evaluate(1);
+    assertThat(listener.getState(brokenRule)).isEqualTo(State.HALF_OPEN);
+
+    evaluate(1);
+    assertThat(listener.getState(brokenRule)).isEqualTo(State.CLOSED);
+    assertThat(brokenCalls).hasValue(6);
+  }
+
+  @Test
+  void shouldReopenWhenProbeFails() {
+    evaluate(4);
+    time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    evaluate(3);
+
+    assertThat(listener.getState(brokenRule)).isEqualTo(State.OPEN);
+    assertThat(brokenCalls).hasValue(5);
+  }
+
+  @Test
+  void shouldStayClosedBelowFailureRate() {
+    final var alternating = new AtomicInteger();
+    final var flaky = newRule("flaky").when(f -> {
+      if (alternating.incrementAndGet() % 4 == 0) {
+        throw new IllegalStateException();
+      }
+      return false;
+    }).build();
+    final var flakyEngine = new DefaultRuleEngine(listener, new SimpleOrderedRules(Set.of(flaky)));
+
+    for (int i = 0; i < 20; i++) {
+      flakyEngine.evaluate(SimpleFacts.builder().build());
+    }
+
+    assertThat(listener.getState(flaky)).isEqualTo(State.CLOSED);
+    assertThat(alternating).hasValue(20);
+  }
+
+  @Test
+  void shouldNotUseProbesOnInferenceCandidateSelection() {
+    final var failing = new AtomicBoolean(true);
+    final var pending = new AtomicBoolean(true);
+    final var executions = new AtomicInteger();
+    final var rule = newRule("inferred").when(f -> pending.get()).then(f -> {
+      executions.incrementAndGet();
+      if (failing.get()) {
+        throw new IllegalStateException("downstream is down");
+      }
+      pending.set(false);
+    }).build();
+    final var inferenceEngine = new InferenceRuleEngine(listener, new SimpleOrderedRules(Set.of(rule)));
+
+    inferenceEngine.evaluate(SimpleFacts.builder().build());
+    assertThat(listener.getState(rule)).isEqualTo(State.OPEN);
+
+    failing.set(false);
+    pending.set(false);
+    time.addAndGet(Duration.ofSeconds(10).toNanos());
+    for (int i = 0; i < 5; i++) {
+      inferenceEngine.evaluate(SimpleFacts.builder().build());
+    }
+
+    pending.set(true);
+    inferenceEngine.evaluate(SimpleFacts.builder().build());
+    assertThat(listener.getState(rule)).isEqualTo(State.HALF_OPEN);
+    pending.set(true);
+    inferenceEngine.evaluate(SimpleFacts.builder().build());
+
+    assertThat(listener.getState(rule)).isEqualTo(State.CLOSED);
+    assertThat(executions).hasValue(6);
+  }
+
+  private void evaluate(final int times) {
+    for (int i = 0; i < times; i++) {
+      engine.evaluate(SimpleFacts.builder().build());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class LoadSheddingListenerTest {
+  private final SimpleOrderedRules rules = new SimpleOrderedRules(Set.of(
+      newRule("fraud").priority(1).build(),
+      newRule("limits").priority(2).build(),
+      newRule("enrichment").priority(3).build(),
+      newRule("analytics").priority(4).build()));
+
+  private final AtomicLong time = new AtomicLong();
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final LoadSheddingListener listener = new LoadSheddingListener(rules, Duration.ofMillis(5), 1, queueDepth::get, 10, 2, 0.5, time::get);
+
+  @Mock
+  private Facts facts;
+
+  @Test
+  void shouldLowerCutOffMultiplicativelyWhileSlowAndNeverBelowCriticalPriority() {
+    evaluateTaking(Duration.ofMillis(10), 2);
+    assertThat(listener.getThreshold()).isEqualTo(2);
+
+    evaluateTaking(Duration.ofMillis(10), 2);
+    assertThat(listener.getThreshold()).isEqualTo(1);
+
+    evaluateTaking(Duration.ofMillis(10), 2);
+    assertThat(listener.getThreshold()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRaiseCutOffAdditivelyOnceFastAgain() {
+    evaluateTaking(Duration.ofMillis(10), 4);
+    assertThat(listener.getThreshold()).isEqualTo(1);
+
+    evaluateTaking(Duration.ofMillis(1), 2);
+    assertThat(listener.getThreshold()).isEqualTo(2);
+
+    evaluateTaking(Duration.ofMillis(1), 4);
+    assertThat(listener.getThreshold()).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void shouldShedWhenQueueIsTooDeep() {
+    queueDepth.set(11);
+
+    evaluateTaking(Duration.ofMillis(1), 2);
+
+    assertThat(listener.getThreshold()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldSkipRulesAboveCutOffAndCountThem() {
+    evaluateTaking(Duration.ofMillis(10), 4);
+    final var fired = new ArrayList<String>();
+
+    new DefaultRuleEngine(new FiredRulesListener(listener, fired), rules).evaluate(facts);
+
+    assertThat(fired).containsExactly("fraud");
+    assertThat(listener.getShedRuleCount()).isEqualTo(3);
+    assertThat(listener.getSheddingEvaluationCount()).isEqualTo(1);
+  }
+
+  private void evaluateTaking(final Duration latency, final int evaluations) {
+    for (int i = 0; i < evaluations; i++) {
+      listener.beforeEvaluation(facts);
+      time.addAndGet(latency.toNanos());
+      listener.afterEvaluation(facts);
+    }
+  }
+
+  private static class FiredRulesListener extends ForwardingRuleEngineListener {
+    private final ArrayList<String> fired;
+
+    private FiredRulesListener(final LoadSheddingListener delegate, final ArrayList<String> fired) {
+      super(delegate);
+      this.fired = fired;
+    }
+
+    @Override
+    public void afterAction(final Rule rule, final Facts facts) {
+      fired.add(rule.getName());
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.listener;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.ListenerHook;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RuleListenerRouterTest {
+  private final Rule rule1 = newRule("rule1").build();
+  private final Rule rule2 = newRule("rule2").build();
+
+  @Mock
+  private Facts facts;
+
+  @Mock
+  private RuleEngineListener listener1, listener2, listener3;
+
+  @Test
+  void shouldRouteEventsOnlyToRuleListeners() {
+    final var router = RuleListenerRouter.builder()
+        .route(rule1, listener1)
+        .route(rule2, listener2)
+        .build();
+
+    router.beforeCondition(rule1, facts);
+    router.afterAction(rule2, facts);
+
+    verify(listener1).beforeCondition(rule1, facts);
+    verify(listener2, never()).beforeCondition(any(), any());
+    verify(listener2).afterAction(rule2, facts);
+    verify(listener1, never()).afterAction(any(), any());
+  }
+
+  @Test
+  void shouldRouteToMultipleListenersOfSameRule() {
+    final var router = RuleListenerRouter.builder()
+        .route(rule1, listener1)
+        .route(rule1, listener3)
+        .build();
+
+    router.onActionError(rule1, facts, new IllegalStateException());
+
+    verify(listener1).onActionError(any(), any(), any());
+    verify(listener3).onActionError(any(), any(), any());
+  }
+
+  @Test
+  void shouldRouteEqualRules() {
+    final var router = RuleListenerRouter.builder()
+        .route(rule1, listener1)
+        .build();
+
+    final var equalRule = newRule("rule1").build();
+    when(listener1.shouldStopBeforeEvaluation(equalRule, facts)).thenReturn(true);
+
+    assertThat(router.shouldStopBeforeEvaluation(equalRule, facts)).isTrue();
+  }
+
+  @Test
+  void shouldNotStopForUnroutedRules() {
+    final var router = RuleListenerRouter.builder()
+        .route(rule1, listener1)
+        .build();
+
+    assertThat(router.shouldStopBeforeEvaluation(rule2, facts)).isFalse();
+    assertThat(router.shouldStopAfterEvaluation(rule2, facts, true, null)).isFalse();
+  }
+
+  @Test
+  void shouldExposeHooksOfRoutedListeners() {
+    final var router = RuleListenerRouter.builder()
+        .route(rule1, new SkipAfterAcceptedRuleListener())
+        .build();
+
+    assertThat(ListenerHook.of(router)).containsExactly(ListenerHook.SHOULD_STOP_AFTER_EVALUATION);
+  }
+}
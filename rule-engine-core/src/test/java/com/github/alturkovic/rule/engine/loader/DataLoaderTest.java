@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.loader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataLoaderTest {
+  private final List<Set<String>> calls = new CopyOnWriteArrayList<>();
+  private final BatchLoader<String, Integer> lengths = keys -> {
+    calls.add(keys);
+    return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(k -> k, String::length)));
+  };
+
+  @Test
+  void shouldLoadPendingKeysTogether() throws Exception {
+    final var loader = new DataLoader<>(lengths);
+
+    final var a = loader.load("a");
+    final var bb = loader.load("bb");
+    final var again = loader.load("a");
+
+    assertThat(a).isNotDone();
+    assertThat(loader.getPendingCount()).isEqualTo(2);
+    assertThat(loader.dispatch()).isEqualTo(2);
+
+    assertThat(a.get()).isEqualTo(1);
+    assertThat(bb.get()).isEqualTo(2);
+    assertThat(again).isSameAs(a);
+    assertThat(calls).containsExactly(Set.of("a", "bb"));
+    assertThat(loader.dispatch()).isZero();
+  }
+
+  @Test
+  void shouldSplitBatchesLargerThanMaxBatchSize() {
+    final var loader = new DataLoader<>(lengths, 2);
+
+    loader.load("a");
+    loader.load("b");
+    loader.load("c");
+    loader.dispatch();
+
+    assertThat(calls).containsExactly(Set.of("a", "b"), Set.of("c"));
+  }
+
+  @Test
+  void shouldCompleteMissingKeysWithNull() throws Exception {
+    final var loader = new DataLoader<String, Integer>(keys -> CompletableFuture.completedFuture(Map.of()));
+
+    final var missing = loader.load("missing");
+    loader.dispatch();
+
+    assertThat(missing.get()).isNull();
+  }
+
+  @Test
+  void shouldFailAllKeysOfFailedBatch() {
+    final var loader = new DataLoader<String, Integer>(keys -> {
+      throw new IllegalStateException("unavailable");
+    });
+
+    final var a = loader.load("a");
+    loader.dispatch();
+
+    final var e = assertThrows(ExecutionException.class, a::get);
+    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+  @Test
+  void shouldMapValuesToBucketsContainingThem() {
+    for (long value = 0; value < 1_000_000; value += 7) {
+      final var index = LatencyHistogram.indexOf(value);
+      assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+      }
+    }
+  }
+
+  @Test
+  void shouldReportPercentilesWithinPrecision() {
+    final var histogram = new LatencyHistogram();
+    for (long i = 1; i <= 10_000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    final var snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount()).isEqualTo(10_000);
+    assertThat(snapshot.getMeanNanos()).isCloseTo(5_000_500, within(1.0));
+    assertThat(snapshot.getP50Nanos()).isBetween(5_000_000L, 5_000_000L * 107 / 100);
+    assertThat(snapshot.getP99Nanos()).isBetween(9_900_000L, 9_900_000L * 107 / 100);
+    assertThat(snapshot.getMaxNanos()).isBetween(10_000_000L, 10_000_000L * 107 / 100);
+  }
+
+  @Test
+  void shouldClampValuesOutsideOfTrackableRange() {
+    final var histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    final var snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount()).isEqualTo(2);
+    assertThat(snapshot.getP50Nanos()).isZero();
+    assertThat(snapshot.getMaxNanos()).isEqualTo(LatencyHistogram.MAX_TRACKABLE_NANOS);
+  }
+
+  @Test
+  void shouldReportEmptySnapshot() {
+    assertThat(new LatencyHistogram().snapshot().getCount()).isZero();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.metrics;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Set;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleMetricsListenerTest {
+  private final Rule accepting = newRule("accepting").priority(1).build();
+  private final Rule declining = newRule("declining").priority(2).when(f -> false).build();
+  private final Rule failingCondition = newRule("failingCondition").priority(3).when(f -> {
+    throw new IllegalStateException();
+  }).build();
+  private final Rule failingAction = newRule("failingAction").priority(4).then(f -> {
+    throw new IllegalStateException();
+  }).build();
+
+  private final SimpleOrderedRules rules = new SimpleOrderedRules(Set.of(accepting, declining, failingCondition, failingAction));
+  private final RuleMetricsListener listener = new RuleMetricsListener(rules);
+
+  @Test
+  void shouldCollectRuleMetrics() {
+    final var engine = new DefaultRuleEngine(listener, rules);
+
+    engine.evaluate(new SimpleFacts(new HashMap<>()));
+    engine.evaluate(new SimpleFacts(new HashMap<>()));
+
+    assertThat(listener.getMetrics(accepting).getAccepted()).isEqualTo(2);
+    assertThat(listener.getMetrics(accepting).getConditionLatency().getCount()).isEqualTo(2);
+    assertThat(listener.getMetrics(accepting).getActionLatency().getCount()).isEqualTo(2);
+    assertThat(listener.getMetrics(declining).getRejected()).isEqualTo(2);
+    assertThat(listener.getMetrics(declining).getActionLatency().getCount()).isZero();
+    assertThat(listener.getMetrics(failingCondition).getConditionErrors()).isEqualTo(2);
+    assertThat(listener.getMetrics(failingAction).getActionErrors()).isEqualTo(2);
+    assertThat(listener.getMetrics()).hasSize(4);
+    assertThat(listener.getEvaluationLatency().getCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectUnknownRules() {
+    assertThatThrownBy(() -> listener.getMetrics(newRule("unknown").build()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldExposeMetricsOverJmx() throws Exception {
+    final var server = ManagementFactory.getPlatformMBeanServer();
+    final var names = listener.registerMBeans(server, "test-engine");
+    try {
+      new DefaultRuleEngine(listener, rules).evaluate(new SimpleFacts(new HashMap<>()));
+
+      assertThat(names).hasSize(5);
+      final var name = new ObjectName("com.github.alturkovic.rule.engine:type=RuleMetrics,engine=\"test-engine\",rule=\"accepting\"");
+      final var metrics = (CompositeData) server.getAttribute(name, "Metrics");
+      assertThat(metrics.get("accepted")).isEqualTo(1L);
+      assertThat(((CompositeData) metrics.get("conditionLatency")).get("count")).isEqualTo(1L);
+    } finally {
+      RuleMetricsListener.unregisterMBeans(server, names);
+    }
+  }
+}
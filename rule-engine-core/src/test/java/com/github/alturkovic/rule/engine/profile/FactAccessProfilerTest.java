@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.profile;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FactAccessProfilerTest {
+  private final Rule reading = newRule("reading").priority(1)
+      .when(f -> f.isDeclared("amount") && f.<Integer>get("amount") > 10)
+      .then(f -> f.get("customer"))
+      .build();
+  private final Rule copying = newRule("copying").priority(2)
+      .when(FactAccessProfilerTest::copyAll)
+      .build();
+
+  private final FactAccessProfiler profiler = new FactAccessProfiler();
+  private final DefaultRuleEngine engine = new DefaultRuleEngine(profiler, new SimpleOrderedRules(Set.of(reading, copying)));
+
+  @Test
+  void shouldRecordFactsReadByEachRule() {
+    final var profiled = profiler.profile(engine);
+    profiled.evaluate(new SimpleFacts(Map.of("amount", 20, "customer", "c")));
+    profiled.evaluate(new SimpleFacts(Map.of("amount", 5, "customer", "c")));
+
+    final var report = profiler.getReport();
+
+    assertThat(report).containsOnlyKeys("reading", "copying");
+    assertThat(report.get("reading").getFacts())
+        .containsEntry("amount", new FactAccessCount(2, 2))
+        .containsEntry("customer", new FactAccessCount(1, 0));
+    assertThat(report.get("reading").getAsMapCopies()).isZero();
+    assertThat(report.get("copying").getFacts()).isEmpty();
+    assertThat(report.get("copying").getAsMapCallers())
+        .containsOnly(Map.entry(FactAccessProfilerTest.class.getName() + "#copyAll", 2L));
+  }
+
+  @Test
+  void shouldAttributeAccessesOutsideOfRules() {
+    profiler.wrap(new SimpleFacts(Map.of("amount", 1))).get("amount");
+
+    assertThat(profiler.getReport()).containsOnlyKeys(FactAccessProfiler.UNATTRIBUTED);
+
+    profiler.reset();
+    assertThat(profiler.getReport()).isEmpty();
+  }
+
+  private static boolean copyAll(final Facts facts) {
+    return !facts.asMap().isEmpty();
+  }
+}
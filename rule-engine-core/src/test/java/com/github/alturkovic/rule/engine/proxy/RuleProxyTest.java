@@ -27,11 +27,13 @@ package com.github.alturkovic.rule.engine.proxy;
 import com.github.alturkovic.rule.engine.aop.Description;
 import com.github.alturkovic.rule.engine.aop.Given;
 import com.github.alturkovic.rule.engine.aop.Name;
+import com.github.alturkovic.rule.engine.aop.Outputs;
 import com.github.alturkovic.rule.engine.aop.Priority;
 import com.github.alturkovic.rule.engine.aop.Rule;
 import com.github.alturkovic.rule.engine.aop.Then;
 import com.github.alturkovic.rule.engine.aop.When;
 import com.github.alturkovic.rule.engine.api.Facts;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import org.junit.jupiter.api.Test;
 
@@ -425,6 +427,89 @@ class RuleProxyTest {
     assertThat(proxy.fact4Value).isEqualTo(4);
   }
 
+  @Test
+  void shouldDeclareGivenFactsAsInputs() {
+
+    @Rule
+    @Outputs("discount")
+    class DeclaredFactsProxy {
+      @When
+      public boolean when(@Given("customer") final Object customer) {
+        return true;
+      }
+
+      @Then
+      public void then(@Given("order") final Object order, @Given("customer") final Object customer) {
+      }
+    }
+
+    final var rule = RuleProxy.asRule(new DeclaredFactsProxy());
+
+    assertThat(rule.getInputs()).isEqualTo(Set.of("customer", "order"));
+    assertThat(rule.getOutputs()).isEqualTo(Set.of("discount"));
+  }
+
+  @Test
+  void shouldNotDeclareFactsWhenReceivingAllFacts() {
+
+    @Rule
+    class UndeclaredFactsProxy {
+      @When
+      public boolean when(@Given("customer") final Object customer) {
+        return true;
+      }
+
+      @Then
+      public void then(final Facts facts) {
+      }
+    }
+
+    final var rule = RuleProxy.asRule(new UndeclaredFactsProxy());
+
+    assertThat(rule.getInputs()).isNull();
+    assertThat(rule.getOutputs()).isNull();
+  }
+
+  @Test
+  void shouldDeclareAsyncAction() {
+
+    @Rule
+    class AsyncProxy {
+      @When
+      public boolean when() {
+        return true;
+      }
+
+      @Then(async = true)
+      public void then() {
+      }
+    }
+
+    assertThat(RuleProxy.asRule(new AsyncProxy()).isAsyncAction()).isTrue();
+  }
+
+  @Test
+  void shouldNotCreateProxyWithMixedActions() {
+
+    @Rule
+    class MixedActionsProxy {
+      @When
+      public boolean when() {
+        return true;
+      }
+
+      @Then(async = true)
+      public void then1() {
+      }
+
+      @Then
+      public void then2() {
+      }
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> RuleProxy.asRule(new MixedActionsProxy()));
+  }
+
   @Test
   void shouldAccept() {
 
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.scoring;
+
+import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.api.RuleEngineListener;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringRuleEngineTest {
+  private final List<String> checked = new ArrayList<>();
+
+  private final Rule velocity = rule("velocity");
+  private final Rule newDevice = rule("newDevice");
+  private final Rule foreignIp = rule("foreignIp");
+  private final Rule trustedCustomer = rule("trustedCustomer");
+  private final Rule smallAmount = rule("smallAmount");
+
+  private final ScoringRuleEngine engine = ScoringRuleEngine.builder()
+      .rule(velocity, 50.0)
+      .rule(newDevice, 30.0)
+      .rule(foreignIp, 20.0)
+      .rule(trustedCustomer, -40.0)
+      .rule(smallAmount, 5.0)
+      .threshold(60)
+      .build();
+
+  @Test
+  void shouldStopOnceThresholdCannotBeMissed() {
+    final var result = engine.score(facts("velocity", "newDevice", "foreignIp"));
+
+    assertThat(checked).containsExactly("velocity", "trustedCustomer", "newDevice");
+    assertThat(result.isPassed()).isTrue();
+    assertThat(result.getMatchedRules()).containsExactly(velocity, newDevice);
+    assertThat(result.getPrunedRules()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldStopOnceThresholdCannotBeReached() {
+    final var result = engine.score(facts("smallAmount"));
+
+    assertThat(checked).containsExactly("velocity");
+    assertThat(result.isPassed()).isFalse();
+    assertThat(result.isPruned()).isTrue();
+  }
+
+  @Test
+  void shouldReachSameDecisionAsFullScoring() {
+    final var names = List.of("velocity", "newDevice", "foreignIp", "trustedCustomer", "smallAmount");
+    for (int mask = 0; mask < 1 << names.size(); mask++) {
+      final var declared = new ArrayList<String>();
+      for (int i = 0; i < names.size(); i++) {
+        if ((mask & 1 << i) != 0) {
+          declared.add(names.get(i));
+        }
+      }
+
+      final var facts = facts(declared.toArray(String[]::new));
+      final var full = engine.scoreFully(facts);
+      assertThat(full.isPruned()).isFalse();
+      assertThat(engine.score(facts).isPassed()).as("facts %s", declared).isEqualTo(full.isPassed());
+    }
+  }
+
+  @Test
+  void shouldFindTopMatchesByWeight() {
+    final var matches = engine.topMatches(facts("foreignIp", "smallAmount", "trustedCustomer", "newDevice"), 2);
+
+    assertThat(matches).containsExactly(newDevice, foreignIp);
+    assertThat(checked).containsExactly("velocity", "newDevice", "foreignIp");
+  }
+
+  @Test
+  void shouldStopWhenListenerStopsEvaluation() {
+    final var stopping = ScoringRuleEngine.builder()
+        .listener(new RuleEngineListener() {
+          @Override
+          public boolean shouldStopAfterEvaluation(final Rule rule, final Facts facts, final boolean accepted, final Exception exception) {
+            return accepted;
+          }
+        })
+        .rule(velocity, 50.0)
+        .rule(newDevice, 30.0)
+        .rule(foreignIp, 20.0)
+        .threshold(60)
+        .build();
+
+    final var result = stopping.scoreFully(facts("newDevice", "foreignIp"));
+
+    assertThat(checked).containsExactly("velocity", "newDevice");
+    assertThat(result.getMatchedRules()).containsExactly(newDevice);
+    assertThat(result.getPrunedRules()).isEqualTo(1);
+  }
+
+  private Facts facts(final String... declared) {
+    final var builder = SimpleFacts.builder();
+    for (final var fact : declared) {
+      builder.fact(fact, true);
+    }
+    return builder.build();
+  }
+
+  private Rule rule(final String name) {
+    return newRule(name).when(f -> {
+      checked.add(name);
+      return f.isDeclared(name);
+    }).build();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.trace;
+
+import com.github.alturkovic.rule.engine.api.Rule;
+import com.github.alturkovic.rule.engine.core.DefaultRuleEngine;
+import com.github.alturkovic.rule.engine.core.SimpleFacts;
+import com.github.alturkovic.rule.engine.core.SimpleOrderedRules;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.github.alturkovic.rule.engine.builder.DefaultRuleBuilder.newRule;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingRuleEngineListenerTest {
+  private final Rule accepting = newRule("accepting").priority(1).build();
+  private final Rule declining = newRule("declining").priority(2).when(f -> false).build();
+  private final Rule failing = newRule("failing").priority(3).then(f -> {
+    throw new IllegalStateException("failed");
+  }).build();
+
+  private final SimpleOrderedRules rules = new SimpleOrderedRules(Set.of(accepting, declining, failing));
+
+  @Test
+  void shouldTraceSampledEvaluations() {
+    final var traces = new CopyOnWriteArrayList<EvaluationTrace>();
+    final var listener = new TracingRuleEngineListener(3, 16, traces::add);
+    final var engine = new DefaultRuleEngine(listener, rules);
+
+    for (int i = 0; i < 7; i++) {
+      engine.evaluate(new SimpleFacts(new HashMap<>()));
+    }
+    listener.close();
+
+    assertThat(traces).hasSize(2);
+    assertThat(traces).extracting(EvaluationTrace::getEvaluationId).containsExactly(1L, 2L);
+    final List<RuleTrace> ruleTraces = traces.get(0).getRules();
+    assertThat(ruleTraces).extracting(RuleTrace::getRuleName).containsExactly("accepting", "declining", "failing");
+    assertThat(ruleTraces).extracting(RuleTrace::isAccepted).containsExactly(true, false, true);
+    assertThat(ruleTraces).extracting(RuleTrace::isExecuted).containsExactly(true, false, true);
+    assertThat(ruleTraces.get(2).getError()).hasMessage("failed");
+  }
+
+  @Test
+  void shouldDropTracesWhenBufferIsFull() throws Exception {
+    final var release = new CountDownLatch(1);
+    final var delivered = new AtomicInteger();
+    final var listener = new TracingRuleEngineListener(1, 1, trace -> {
+      await(release);
+      delivered.incrementAndGet();
+    });
+    final var engine = new DefaultRuleEngine(listener, rules);
+
+    for (int i = 0; i < 10; i++) {
+      engine.evaluate(new SimpleFacts(new HashMap<>()));
+    }
+    release.countDown();
+    listener.close();
+
+    assertThat(listener.getDroppedCount()).isPositive();
+    assertThat(delivered.get() + listener.getDroppedCount()).isEqualTo(10);
+  }
+
+  @Test
+  void shouldWriteTracesToFile(@TempDir final Path directory) throws Exception {
+    final var file = directory.resolve("traces.log");
+    try (final var sink = new TraceFileSink(file)) {
+      final var listener = new TracingRuleEngineListener(1, 16, sink);
+      new DefaultRuleEngine(listener, rules).evaluate(new SimpleFacts(new HashMap<>()));
+      listener.close();
+    }
+
+    final var lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(4);
+    assertThat(lines.get(0)).startsWith("evaluation=1 ").endsWith("rules=3");
+    assertThat(lines.get(2)).contains("rule=declining").doesNotContain("action=");
+    assertThat(lines.get(3)).contains("error=java.lang.IllegalStateException: failed");
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Alen Turkovic
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.alturkovic.rule.engine.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+  @Test
+  void shouldRoundCapacityToPowerOfTwo() {
+    assertThat(new RingBuffer<>(1).capacity()).isEqualTo(2);
+    assertThat(new RingBuffer<>(5).capacity()).isEqualTo(8);
+    assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldRejectInvalidCapacity() {
+    assertThatThrownBy(() -> new RingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldKeepFifoOrderAndRejectWhenFull() {
+    final var buffer = new RingBuffer<Integer>(2);
+
+    assertThat(buffer.offer(1)).isTrue();
+    assertThat(buffer.offer(2)).isTrue();
+    assertThat(buffer.offer(3)).isFalse();
+    assertThat(buffer.size()).isEqualTo(2);
+
+    assertThat(buffer.poll()).isEqualTo(1);
+    assertThat(buffer.offer(3)).isTrue();
+    assertThat(buffer.poll()).isEqualTo(2);
+    assertThat(buffer.poll()).isEqualTo(3);
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void shouldDeliverEveryElementOnceAcrossThreads() throws Exception {
+    final var producers = 4;
+    final var perProducer = 10_000;
+    final var buffer = new RingBuffer<Integer>(64);
+    final var seen = ConcurrentHashMap.<Integer>newKeySet();
+    final var consumed = new AtomicInteger();
+    final var start = new CountDownLatch(1);
+    final var executor = Executors.newFixedThreadPool(producers + 2);
+
+    try {
+      for (int p = 0; p < producers; p++) {
+        final var offset = p * perProducer;
+        executor.execute(() -> {
+          await(start);
+          for (int i = 0; i < perProducer; i++) {
+            while (!buffer.offer(offset + i)) {
+              Thread.yield();
+            }
+          }
+        });
+      }
+      for (int c = 0; c < 2; c++) {
+        executor.execute(() -> {
+          await(start);
+          while (consumed.get() < producers * perProducer) {
+            final var element = buffer.poll();
+            if (element == null) {
+              Thread.yield();
+            } else if (seen.add(element)) {
+              consumed.incrementAndGet();
+            }
+          }
+        });
+      }
+
+      start.countDown();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(seen).hasSize(producers * perProducer);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -66,7 +66,7 @@ public class MVELRuleBuilder extends AbstractRuleBuilder<MVELRuleBuilder> {
   public Rule build() {
     final var mvelCondition = new MVELCondition(MVEL.compileExpression(condition, context));
     final var mvelActions = new CompositeAction(parseActions());
-    return new DefaultRule(name, description, priority, mvelCondition, mvelActions);
+    return new DefaultRule(name, description, priority, mvelCondition, mvelActions, inputs, outputs);
   }
 
   private List<MVELAction> parseActions() {
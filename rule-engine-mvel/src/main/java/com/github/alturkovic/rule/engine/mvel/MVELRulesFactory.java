@@ -50,6 +50,8 @@ public class MVELRulesFactory extends RulesFactory {
         .context(context)
         .description(ruleDefinition.getDescription())
         .priority(ruleDefinition.getPriority())
+        .inputs(ruleDefinition.getInputs())
+        .outputs(ruleDefinition.getOutputs())
         .when(ruleDefinition.getWhen())
         .then(ruleDefinition.getThen())
         .build();
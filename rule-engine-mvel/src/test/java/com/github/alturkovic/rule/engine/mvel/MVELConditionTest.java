@@ -25,6 +25,7 @@
 package com.github.alturkovic.rule.engine.mvel;
 
 import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.core.LazyFacts;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -51,6 +52,15 @@ class MVELConditionTest {
     assertThat(adultCondition.accept(facts)).isTrue();
   }
 
+  @Test
+  void shouldAssignVariablesUsingLazyFacts() {
+    final var condition = new MVELCondition(MVEL.compileExpression("doubledAge = age * 2; doubledAge > 30"));
+    final var lazyFacts = LazyFacts.builder().lazyFact("age", () -> 20).build();
+
+    assertThat(condition.accept(lazyFacts)).isTrue();
+    assertThat(lazyFacts.isDeclared("doubledAge")).isFalse();
+  }
+
   @Test
   void shouldAcceptWithCustomContext() {
     final ParserContext context = new ParserContext();
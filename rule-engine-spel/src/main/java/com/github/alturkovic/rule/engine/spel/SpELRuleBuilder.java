@@ -74,7 +74,7 @@ public class SpELRuleBuilder extends AbstractRuleBuilder<SpELRuleBuilder> {
   public Rule build() {
     final var spELCondition = new SpELCondition(parse(condition, context), beanResolver);
     final var spELActions = new CompositeAction(parseActions());
-    return new DefaultRule(name, description, priority, spELCondition, spELActions);
+    return new DefaultRule(name, description, priority, spELCondition, spELActions, inputs, outputs);
   }
 
   private List<SpELAction> parseActions() {
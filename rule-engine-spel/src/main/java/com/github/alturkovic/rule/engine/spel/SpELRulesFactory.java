@@ -54,6 +54,8 @@ public class SpELRulesFactory extends RulesFactory {
         .context(context)
         .description(ruleDefinition.getDescription())
         .priority(ruleDefinition.getPriority())
+        .inputs(ruleDefinition.getInputs())
+        .outputs(ruleDefinition.getOutputs())
         .when(ruleDefinition.getWhen())
         .then(ruleDefinition.getThen())
         .build();
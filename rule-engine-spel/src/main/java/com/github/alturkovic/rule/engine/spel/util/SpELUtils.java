@@ -36,11 +36,17 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class SpELUtils {
+  /**
+   * Exposes facts as the root object and as variables, looking variables up only when referenced so lazily computed facts are not copied.
+   */
   public static EvaluationContext asContext(final Facts facts, final BeanResolver beanResolver) {
-    final StandardEvaluationContext context = new StandardEvaluationContext();
-    final var factsMap = facts.asMap();
-    context.setRootObject(factsMap);
-    context.setVariables(factsMap);
+    final StandardEvaluationContext context = new StandardEvaluationContext(facts.asMap()) {
+      @Override
+      public Object lookupVariable(final String name) {
+        final var variable = super.lookupVariable(name);
+        return variable != null || !facts.isDeclared(name) ? variable : facts.get(name);
+      }
+    };
     context.setBeanResolver(beanResolver);
     return context;
   }
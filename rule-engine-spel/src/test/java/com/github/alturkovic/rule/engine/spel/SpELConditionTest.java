@@ -25,6 +25,7 @@
 package com.github.alturkovic.rule.engine.spel;
 
 import com.github.alturkovic.rule.engine.api.Facts;
+import com.github.alturkovic.rule.engine.core.LazyFacts;
 import com.github.alturkovic.rule.engine.core.SimpleFacts;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
@@ -60,6 +61,20 @@ class SpELConditionTest {
     assertThat(adultCondition.accept(new SimpleFacts(Collections.emptyMap()))).isFalse();
   }
 
+  @Test
+  void shouldComputeOnlyReferencedLazyFacts() {
+    final var condition = new SpELCondition(parse("#{#age > 18 && ['country'] == 'HR'}"));
+
+    final var facts = LazyFacts.builder()
+        .lazyFact("age", () -> 20)
+        .lazyFact("country", () -> "HR")
+        .lazyFact("creditScore", () -> 700)
+        .build();
+
+    assertThat(condition.accept(facts)).isTrue();
+    assertThat(facts.isComputed("creditScore")).isFalse();
+  }
+
   @Test
   void shouldFailWithInvalidSpEL() {
     final var condition = new SpELCondition(parse("#{T(com.github.alturkovic.rule.engine.spel.SpELActionTest).isAccepted()}"));